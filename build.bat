@@ -17,6 +17,7 @@ if "%1"=="" (
     echo   package      - Package all modules
     echo   package-tp2  - Package paa_tp_ii only
     echo   package-tp1  - Package paa_tp_quick_sort only
+    echo   bench        - Package JMH benchmarks into paa_tp_benchmarks\target\benchmarks.jar
     echo.
     goto :eof
 )
@@ -75,6 +76,12 @@ if "%1"=="package-tp1" (
     goto :eof
 )
 
+if "%1"=="bench" (
+    echo Packaging paa_tp_benchmarks...
+    call mvn -pl paa_tp_benchmarks -am clean package
+    goto :eof
+)
+
 echo Unknown command: %1
 echo Run "build.bat" with no arguments to see available commands.
 
@@ -0,0 +1,49 @@
+package paa.sort.benchmark;
+
+import paa.sort.domain.SortingAlgorithm;
+import paa.sort.domain.algorithms.AdaptiveSort;
+import paa.sort.domain.algorithms.BlockQuickSort;
+import paa.sort.domain.algorithms.DualPivotQuickSort;
+import paa.sort.domain.algorithms.ImprovedHybridQuickSort;
+import paa.sort.domain.algorithms.IntroSort;
+import paa.sort.domain.algorithms.IterativeQuickSort;
+import paa.sort.domain.algorithms.LsdRadixSort;
+import paa.sort.domain.algorithms.NaturalMergeSort;
+import paa.sort.domain.algorithms.ParallelSampleSort;
+import paa.sort.domain.algorithms.PdqSort;
+import paa.sort.domain.algorithms.ThreeWayQuickSort;
+import paa.sort.domain.algorithms.VectorizedQuickSort;
+import paa.sort.domain.algorithms.basecase.SortingNetworkBaseCase;
+
+import java.util.function.IntFunction;
+
+/**
+ * Enum com as implementacoes de SortingAlgorithm que rodam em toda a matriz
+ * de benchmark. Cada constante sabe criar o algoritmo a partir do threshold (M).
+ * Os algoritmos com pivo no ultimo elemento ficam em LastElementPivotAlgorithmId.
+ */
+public enum AlgorithmId {
+    IMPROVED_HYBRID(ImprovedHybridQuickSort::new),
+    IMPROVED_HYBRID_NETWORK(threshold -> new ImprovedHybridQuickSort(threshold, new SortingNetworkBaseCase())),
+    DUAL_PIVOT(DualPivotQuickSort::new),
+    THREE_WAY(ThreeWayQuickSort::new),
+    INTROSORT(IntroSort::new),
+    ITERATIVE(IterativeQuickSort::new),
+    LSD_RADIX(threshold -> new LsdRadixSort()),
+    ADAPTIVE(AdaptiveSort::new),
+    NATURAL_MERGE(NaturalMergeSort::new),
+    PARALLEL_SAMPLE_SORT(ParallelSampleSort::new),
+    VECTORIZED(VectorizedQuickSort::new),
+    BLOCK_QUICKSORT(BlockQuickSort::new),
+    PDQSORT(PdqSort::new);
+
+    private final IntFunction<SortingAlgorithm> factory;
+
+    AlgorithmId(IntFunction<SortingAlgorithm> factory) {
+        this.factory = factory;
+    }
+
+    public SortingAlgorithm create(int threshold) {
+        return factory.apply(threshold);
+    }
+}
@@ -0,0 +1,63 @@
+package paa.sort.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import paa.sort.domain.algorithms.KeyPayloadQuickSort;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o argsort primitivo de KeyPayloadQuickSort com a alternativa usual:
+ * ordenar um Integer[] de indices com um Comparator pela chave.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Benchmark)
+public class ArgsortBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int size;
+
+    @Param({ "16" })
+    public int threshold;
+
+    private KeyPayloadQuickSort keyPayloadSort;
+    private int[] keys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keyPayloadSort = new KeyPayloadQuickSort(threshold);
+        keys = new Random(42).ints(size).toArray();
+    }
+
+    @Benchmark
+    public int[] primitiveArgsort() {
+        return keyPayloadSort.argsort(keys);
+    }
+
+    @Benchmark
+    public Integer[] boxedComparatorArgsort() {
+        Integer[] permutation = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            permutation[i] = i;
+        }
+        Arrays.sort(permutation, Comparator.comparingInt(index -> keys[index]));
+        return permutation;
+    }
+}
@@ -0,0 +1,52 @@
+package paa.sort.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede apenas a copia da massa original para o buffer de trabalho, que tambem e
+ * feita em cada invocacao de SortingAlgorithmBenchmark. O tempo da copia nao
+ * depende do tipo de dados, somente do tamanho.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Benchmark)
+public class ArrayCopyBaselineBenchmark {
+
+    @Param({ "100", "1000", "10000", "100000", "1000000", "10000000", "100000000" })
+    public int size;
+
+    private int[] originalArray;
+    private int[] workingArray;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        originalArray = new int[size];
+        workingArray = new int[size];
+        for (int i = 0; i < size; i++) {
+            originalArray[i] = i;
+        }
+    }
+
+    @Benchmark
+    public void copy(Blackhole blackhole) {
+        System.arraycopy(originalArray, 0, workingArray, 0, size);
+        blackhole.consume(workingArray);
+    }
+}
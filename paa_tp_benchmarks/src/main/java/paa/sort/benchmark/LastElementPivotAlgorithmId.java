@@ -0,0 +1,29 @@
+package paa.sort.benchmark;
+
+import paa.sort.domain.SortingAlgorithm;
+import paa.sort.domain.algorithms.HybridQuickSort;
+import paa.sort.domain.algorithms.ParallelHybridQuickSort;
+import paa.sort.domain.algorithms.RecursiveQuickSort;
+
+import java.util.function.IntFunction;
+
+/**
+ * Enum com os algoritmos que usam o ultimo elemento como pivo. Eles sao O(n^2)
+ * em dados ordenados, inversos e no pior caso, por isso rodam em
+ * LastElementPivotBenchmark, com tamanhos limitados, e nao na matriz completa.
+ */
+public enum LastElementPivotAlgorithmId {
+    RECURSIVE(threshold -> new RecursiveQuickSort()),
+    HYBRID(HybridQuickSort::new),
+    PARALLEL_HYBRID(ParallelHybridQuickSort::new);
+
+    private final IntFunction<SortingAlgorithm> factory;
+
+    LastElementPivotAlgorithmId(IntFunction<SortingAlgorithm> factory) {
+        this.factory = factory;
+    }
+
+    public SortingAlgorithm create(int threshold) {
+        return factory.apply(threshold);
+    }
+}
@@ -0,0 +1,66 @@
+package paa.sort.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import paa.sort.domain.SortingAlgorithm;
+import paa.sort.domain.exceptions.ValidationException;
+import paa.sort.domain.testdata.DataType;
+import paa.sort.domain.testdata.TestDataGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH dos algoritmos com pivo no ultimo elemento. Em dados
+ * ordenados, inversos e no pior caso eles sao O(n^2), entao o tamanho vai so
+ * ate 10^4 para que todas as combinacoes terminem em tempo razoavel; a medicao
+ * e a mesma de SortingAlgorithmBenchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xss64m" })
+@State(Scope.Benchmark)
+public class LastElementPivotBenchmark {
+
+    @Param
+    public LastElementPivotAlgorithmId algorithm;
+
+    @Param
+    public DataType dataType;
+
+    @Param({ "100", "1000", "10000" })
+    public int size;
+
+    @Param({ "16" })
+    public int threshold;
+
+    private SortingAlgorithm sortingAlgorithm;
+    private int[] originalArray;
+    private int[] workingArray;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ValidationException {
+        sortingAlgorithm = algorithm.create(threshold);
+        originalArray = new TestDataGenerator(42).generateData(dataType, size);
+        workingArray = new int[size];
+    }
+
+    @Benchmark
+    public void sort(Blackhole blackhole) {
+        System.arraycopy(originalArray, 0, workingArray, 0, size);
+        sortingAlgorithm.sort(workingArray, 0, size);
+        blackhole.consume(workingArray);
+    }
+}
@@ -0,0 +1,115 @@
+package paa.sort.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import paa.sort.domain.algorithms.DoubleHybridQuickSort;
+import paa.sort.domain.algorithms.FloatHybridQuickSort;
+import paa.sort.domain.algorithms.LongHybridQuickSort;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH das ordenacoes especializadas em long[], double[] e float[],
+ * comparadas com Arrays.sort do JDK sobre a mesma massa aleatoria.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms4g", "-Xmx4g", "-Xss64m" })
+@State(Scope.Benchmark)
+public class PrimitiveSortBenchmark {
+
+    @Param({ "100", "10000", "1000000" })
+    public int size;
+
+    @Param({ "16" })
+    public int threshold;
+
+    private LongHybridQuickSort longSort;
+    private DoubleHybridQuickSort doubleSort;
+    private FloatHybridQuickSort floatSort;
+
+    private long[] originalLongs;
+    private double[] originalDoubles;
+    private float[] originalFloats;
+    private long[] workingLongs;
+    private double[] workingDoubles;
+    private float[] workingFloats;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        longSort = new LongHybridQuickSort(threshold);
+        doubleSort = new DoubleHybridQuickSort(threshold);
+        floatSort = new FloatHybridQuickSort(threshold);
+
+        Random random = new Random(42);
+        originalLongs = new long[size];
+        originalDoubles = new double[size];
+        originalFloats = new float[size];
+        for (int i = 0; i < size; i++) {
+            originalLongs[i] = random.nextLong();
+            originalDoubles[i] = random.nextGaussian();
+            originalFloats[i] = (float) random.nextGaussian();
+        }
+
+        workingLongs = new long[size];
+        workingDoubles = new double[size];
+        workingFloats = new float[size];
+    }
+
+    @Benchmark
+    public void hybridLong(Blackhole blackhole) {
+        System.arraycopy(originalLongs, 0, workingLongs, 0, size);
+        longSort.sort(workingLongs, 0, size);
+        blackhole.consume(workingLongs);
+    }
+
+    @Benchmark
+    public void jdkLong(Blackhole blackhole) {
+        System.arraycopy(originalLongs, 0, workingLongs, 0, size);
+        Arrays.sort(workingLongs);
+        blackhole.consume(workingLongs);
+    }
+
+    @Benchmark
+    public void hybridDouble(Blackhole blackhole) {
+        System.arraycopy(originalDoubles, 0, workingDoubles, 0, size);
+        doubleSort.sort(workingDoubles, 0, size);
+        blackhole.consume(workingDoubles);
+    }
+
+    @Benchmark
+    public void jdkDouble(Blackhole blackhole) {
+        System.arraycopy(originalDoubles, 0, workingDoubles, 0, size);
+        Arrays.sort(workingDoubles);
+        blackhole.consume(workingDoubles);
+    }
+
+    @Benchmark
+    public void hybridFloat(Blackhole blackhole) {
+        System.arraycopy(originalFloats, 0, workingFloats, 0, size);
+        floatSort.sort(workingFloats, 0, size);
+        blackhole.consume(workingFloats);
+    }
+
+    @Benchmark
+    public void jdkFloat(Blackhole blackhole) {
+        System.arraycopy(originalFloats, 0, workingFloats, 0, size);
+        Arrays.sort(workingFloats);
+        blackhole.consume(workingFloats);
+    }
+}
@@ -0,0 +1,73 @@
+package paa.sort.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import paa.sort.domain.algorithms.IntroSort;
+import paa.sort.domain.algorithms.QuickSelect;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara as operacoes de QuickSelect (mediana e top-k) com a ordenacao
+ * completa pelo Introsort, que era a alternativa para obter os mesmos valores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Benchmark)
+public class SelectionBenchmark {
+
+    @Param({ "100000", "1000000", "10000000" })
+    public int size;
+
+    @Param({ "100" })
+    public int k;
+
+    @Param({ "16" })
+    public int threshold;
+
+    private QuickSelect quickSelect;
+    private IntroSort introSort;
+    private int[] originalArray;
+    private int[] workingArray;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        quickSelect = new QuickSelect(threshold);
+        introSort = new IntroSort(threshold);
+        originalArray = new Random(42).ints(size).toArray();
+        workingArray = new int[size];
+    }
+
+    @Benchmark
+    public int median() {
+        System.arraycopy(originalArray, 0, workingArray, 0, size);
+        return quickSelect.select(workingArray, size / 2);
+    }
+
+    @Benchmark
+    public int[] topK() {
+        return quickSelect.topK(originalArray, k);
+    }
+
+    @Benchmark
+    public void fullSort(Blackhole blackhole) {
+        System.arraycopy(originalArray, 0, workingArray, 0, size);
+        introSort.sort(workingArray, 0, size);
+        blackhole.consume(workingArray);
+    }
+}
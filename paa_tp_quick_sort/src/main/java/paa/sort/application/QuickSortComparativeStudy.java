@@ -2,14 +2,39 @@ package paa.sort.application;
 
 import paa.sort.domain.SortingAlgorithm;
 import paa.sort.domain.algorithms.RecursiveQuickSort;
+import paa.sort.domain.algorithms.AdaptiveSort;
+import paa.sort.domain.algorithms.BlockQuickSort;
+import paa.sort.domain.algorithms.DualPivotQuickSort;
 import paa.sort.domain.algorithms.HybridQuickSort;
 import paa.sort.domain.algorithms.ImprovedHybridQuickSort;
+import paa.sort.domain.algorithms.IntroSort;
+import paa.sort.domain.algorithms.IterativeQuickSort;
+import paa.sort.domain.algorithms.LsdRadixSort;
+import paa.sort.domain.algorithms.NaturalMergeSort;
+import paa.sort.domain.algorithms.ParallelHybridQuickSort;
+import paa.sort.domain.algorithms.ParallelSampleSort;
+import paa.sort.domain.algorithms.PdqSort;
+import paa.sort.domain.algorithms.ThreeWayQuickSort;
+import paa.sort.domain.algorithms.VectorizedQuickSort;
+import paa.sort.domain.algorithms.basecase.SortingNetworkBaseCase;
+import paa.sort.domain.algorithms.pivot.MedianOfKPivot;
+import paa.sort.domain.algorithms.pivot.MedianOfThreePivot;
+import paa.sort.domain.algorithms.pivot.NintherPivot;
+import paa.sort.domain.algorithms.pivot.PivotStrategy;
+import paa.sort.domain.algorithms.pivot.RandomPivot;
+import paa.sort.domain.performance.MeasurementEngine;
 import paa.sort.domain.performance.PerformanceResult;
+import paa.sort.domain.performance.SizeBucket;
 import paa.sort.domain.performance.SortingMetrics;
 import paa.sort.domain.performance.ThresholdOptimizer;
+import paa.sort.domain.performance.ThresholdTable;
+import paa.sort.domain.performance.TimingStatistics;
 import paa.sort.domain.testdata.DataType;
 import paa.sort.domain.testdata.TestDataGenerator;
 import paa.sort.infrastructure.export.ArrayExporter;
+import paa.sort.infrastructure.tuning.TuningProfile;
+import paa.sort.infrastructure.tuning.TuningProfileStore;
+import paa.sort.domain.exceptions.FileOperationException;
 import paa.sort.domain.exceptions.SortingException;
 import paa.sort.domain.exceptions.StackOverflowException;
 import paa.sort.domain.exceptions.ValidationException;
@@ -23,16 +48,34 @@ import java.util.List;
  */
 public class QuickSortComparativeStudy {
     private final ThresholdOptimizer thresholdOptimizer;
+    private final TuningProfileStore tuningProfileStore;
     private final ArrayExporter arrayExporter;
     private final TestDataGenerator testDataGenerator;
     private final ExceptionLogger exceptionLogger;
 
-    // CONFIGURACAO: Numero de execucoes para obter medias confiaveis
-    private static final int MULTIPLE_EXECUTIONS = 5;
+    // CONFIGURACAO: Numero de amostras para obter medias e percentis confiaveis
+    private static final int MULTIPLE_EXECUTIONS = 20;
     private static final int WARMUP_EXECUTIONS = 3;
+    // Execucoes com contadores; as contagens quase nao variam entre execucoes
+    private static final int COUNTING_EXECUTIONS = 5;
+
+    // Tamanhos de producao para o pior caso, usados apenas com algoritmos O(n log n)
+    private static final int[] WORST_CASE_PRODUCTION_SIZES = { 10_000, 100_000, 1_000_000 };
+
+    // Faixas de tamanho com threshold ajustado; cobrem os tamanhos usados no estudo
+    private static final SizeBucket[] TUNED_SIZE_BUCKETS = { SizeBucket.SMALL, SizeBucket.MEDIUM };
+    private static final int THRESHOLD_ITERATIONS = 10;
+    private static final int DEFAULT_THRESHOLD = 10;
+
+    // Tamanho usado para comparar as estrategias de pivo
+    private static final int PIVOT_ANALYSIS_SIZE = 100_000;
 
     public QuickSortComparativeStudy() {
-        this.thresholdOptimizer = new ThresholdOptimizer();
+        // O ajuste inclui dados ordenados e com repeticoes, em que o Quicksort
+        // hibrido simples degrada para O(n^2); o Introsort usa o mesmo corte
+        // para o Insertion Sort e mantem O(n log n)
+        this.thresholdOptimizer = new ThresholdOptimizer(IntroSort::new);
+        this.tuningProfileStore = new TuningProfileStore();
         this.arrayExporter = new ArrayExporter();
         this.testDataGenerator = new TestDataGenerator(42);
         this.exceptionLogger = ExceptionLogger.getInstance();
@@ -53,29 +96,32 @@ public class QuickSortComparativeStudy {
 
             List<PerformanceResult> allResults = new ArrayList<>();
 
-            // 1. Determina o threshold otimo
-            int optimalThreshold = determineOptimalThreshold();
+            // 1. Define os tipos de dados para teste
+            DataType[] dataTypes = {
+                    DataType.RANDOM,
+                    DataType.SORTED,
+                    DataType.REVERSE_SORTED,
+                    DataType.MANY_DUPLICATES,
+                    DataType.WORST_CASE
+            };
+
+            // 2. Carrega o perfil de ajuste salvo ou determina o threshold otimo
+            //    por tipo de dados e faixa de tamanho
+            TuningProfile tuningProfile = determineTuningProfile(dataTypes);
+            ThresholdTable thresholdTable = tuningProfile.getThresholdTable();
+            int optimalThreshold = thresholdTable.get(DataType.RANDOM, SizeBucket.SMALL);
             exceptionLogger.logInfo("Threshold ótimo determinado: " + optimalThreshold, "Otimização inicial");
 
             System.out.println();
             System.out.println("=== COMPARACAO DOS ALGORITMOS ===");
             System.out.println();
 
-            // 2. Cria as implementacoes dos algoritmos
+            // 3. Cria as implementacoes dos algoritmos com o threshold de referencia
             List<SortingAlgorithm> algorithms = createAlgorithms(optimalThreshold);
 
-            // 3. Define os tamanhos de teste
+            // 4. Define os tamanhos de teste
             int[] testSizes = { 100, 500, 1000, 2000, 5000, 10000 };
 
-            // 4. Define os tipos de dados para teste
-            DataType[] dataTypes = {
-                    DataType.RANDOM,
-                    DataType.SORTED,
-                    DataType.REVERSE_SORTED,
-                    DataType.MANY_DUPLICATES,
-                    DataType.WORST_CASE
-            };
-
             // 5. Executa os testes comparativos
             for (DataType dataType : dataTypes) {
                 System.out.println("--- Testando com dados: " + dataType.getDescription() + " ---");
@@ -92,8 +138,12 @@ public class QuickSortComparativeStudy {
                     arrayExporter.saveOriginalArray(dataType, size, originalArray);
 
                     List<PerformanceResult> results = new ArrayList<>();
+                    PerformanceResult sequentialResult = null;
+                    PerformanceResult parallelResult = null;
 
-                    for (SortingAlgorithm algorithm : algorithms) {
+                    // Usa o threshold ajustado para este tipo de dados e tamanho
+                    int threshold = thresholdTable.thresholdFor(dataType, size);
+                    for (SortingAlgorithm algorithm : createAlgorithms(threshold, tuningProfile, dataType)) {
                         // MUDANCA PRINCIPAL: Executa multiplas vezes e calcula medias
                         PerformanceResult result = testAlgorithmMultipleTimesAndSaveArrays(
                                 algorithm, dataType, size, originalArray, MULTIPLE_EXECUTIONS);
@@ -101,8 +151,16 @@ public class QuickSortComparativeStudy {
                         allResults.add(result);
                         typeResults.add(result);
 
-                        System.out.printf("  %s: %.2f ms | Comp: %d | Trocas: %d%n",
+                        if (algorithm.getClass() == HybridQuickSort.class) {
+                            sequentialResult = result;
+                        } else if (algorithm instanceof ParallelHybridQuickSort) {
+                            parallelResult = result;
+                        }
+
+                        TimingStatistics statistics = result.getTimingStatistics();
+                        System.out.printf("  %s: %.2f ms +- %.3f (IC95) | Mediana: %.2f ms | Comp: %d | Trocas: %d%n",
                                 result.getAlgorithmName(), result.getExecutionTimeMillis(),
+                                statistics.getConfidenceHalfWidthMillis(), statistics.getMedianMillis(),
                                 result.getComparisons(), result.getSwaps());
                     }
 
@@ -115,6 +173,8 @@ public class QuickSortComparativeStudy {
                         System.out.printf("  -> Melhor: %s%n", fastest.getAlgorithmName());
                     }
 
+                    reportParallelSpeedup(sequentialResult, parallelResult);
+
                     System.out.println();
                 }
 
@@ -123,10 +183,13 @@ public class QuickSortComparativeStudy {
                 System.out.println();
             }
 
-            // 6. Executa teste especifico do pior caso
-            executeWorstCaseAnalysis(algorithms, allResults);
+            // 6. Compara as estrategias de escolha do pivo
+            executePivotStrategyAnalysis(tuningProfile, dataTypes, allResults);
+
+            // 7. Executa teste especifico do pior caso
+            executeWorstCaseAnalysis(algorithms, createGuaranteedAlgorithms(optimalThreshold), allResults);
 
-            // 7. Salva resumo geral
+            // 8. Salva resumo geral
             arrayExporter.saveGeneralSummary(allResults, optimalThreshold);
 
             System.out.println();
@@ -162,162 +225,248 @@ public class QuickSortComparativeStudy {
     }
 
     /**
-     * NOVO METODO: Executa teste multiplas vezes e calcula medias confiaveis
+     * Mede o algoritmo com o MeasurementEngine (aquecimento, lotes para arrays
+     * pequenos e verificacao fora da janela cronometrada), conta as operacoes
+     * em um passe separado e salva o array ordenado
      */
     private PerformanceResult testAlgorithmMultipleTimesAndSaveArrays(
             SortingAlgorithm algorithm, DataType dataType, int size,
             int[] originalArray, int iterations) throws SortingException, ValidationException {
 
-        // Lista para armazenar resultados de todas as execucoes
-        List<Long> executionTimes = new ArrayList<>();
-        List<Long> comparisonCounts = new ArrayList<>();
-        List<Long> swapCounts = new ArrayList<>();
-        boolean allSuccessful = true;
-        int[] finalSortedArray = null;
-
-        // Aquecimento da JVM
-        for (int i = 0; i < WARMUP_EXECUTIONS; i++) {
-            try {
-                algorithm.sort(originalArray.clone());
-            } catch (StackOverflowError e) {
-                // Stack overflow durante aquecimento é um sinal de problema
-                exceptionLogger.logStackOverflow(
-                        new StackOverflowException(algorithm.getName(), dataType.getDescription(), size, 0, 0),
-                        "Aquecimento JVM");
-                throw new StackOverflowException(algorithm.getName(), dataType.getDescription(), size, 0, 0);
-            } catch (Exception e) {
-                // Outras exceções durante aquecimento são logadas mas não interrompem
-                exceptionLogger.logGenericError("WARMUP_ERROR",
-                        "Erro durante aquecimento: " + e.getMessage(),
-                        e,
-                        "Algoritmo: " + algorithm.getName() + ", Tipo: " + dataType.getDescription() + ", Tamanho: "
-                                + size);
-            }
+        MeasurementEngine.Measurement measurement;
+        try {
+            measurement = new MeasurementEngine(WARMUP_EXECUTIONS, iterations).measure(algorithm, originalArray);
+        } catch (StackOverflowError e) {
+            StackOverflowException stackOverflowException = new StackOverflowException(
+                    algorithm.getName(),
+                    dataType.getDescription(),
+                    size,
+                    calculateRecursionDepth(size),
+                    0);
+            exceptionLogger.logStackOverflow(stackOverflowException, "Medição de " + iterations + " execuções");
+            throw stackOverflowException;
+        } catch (Exception e) {
+            SortingException sortingException = new SortingException(
+                    "Erro inesperado durante ordenação: " + e.getMessage(),
+                    algorithm.getName(),
+                    dataType.getDescription(),
+                    size,
+                    0,
+                    e);
+            exceptionLogger.logSortingException(sortingException, "Medição de " + iterations + " execuções");
+            throw sortingException;
         }
 
-        // Executa o algoritmo multiplas vezes com as MESMAS massas de dados
-        for (int i = 0; i < iterations; i++) {
-            SortingMetrics metrics = new SortingMetrics();
-            int[] testData = originalArray.clone(); // MESMA massa de dados
-
-            long startTime = System.nanoTime();
-            boolean successful = true;
-            int[] sortedArray = null;
-
-            try {
-                sortedArray = algorithm.sort(testData, metrics);
-
-                // Verifica se o resultado esta ordenado
-                if (!isArraySorted(sortedArray)) {
-                    successful = false;
-                    long endTime = System.nanoTime();
-                    long executionTime = endTime - startTime;
-                    throw new SortingException(
-                            "Resultado da ordenação está incorreto",
-                            algorithm.getName(),
-                            dataType.getDescription(),
-                            size,
-                            executionTime);
-                }
-
-                // Salva o array da primeira execucao bem-sucedida
-                if (successful && finalSortedArray == null) {
-                    finalSortedArray = sortedArray;
-                }
-
-            } catch (StackOverflowError e) {
-                successful = false;
-                throw new StackOverflowException(
-                        algorithm.getName(),
-                        dataType.getDescription(),
-                        size,
-                        calculateRecursionDepth(size),
-                        0);
-            } catch (SortingException e) {
-                successful = false;
-                exceptionLogger.logSortingException(e, "Execução " + (i + 1) + "/" + iterations);
-                throw e;
-            } catch (Exception e) {
-                successful = false;
-                long endTime = System.nanoTime();
-                long executionTime = endTime - startTime;
-                SortingException sortingException = new SortingException(
-                        "Erro inesperado durante ordenação: " + e.getMessage(),
-                        algorithm.getName(),
-                        dataType.getDescription(),
-                        size,
-                        executionTime,
-                        e);
-                exceptionLogger.logSortingException(sortingException, "Execução " + (i + 1) + "/" + iterations);
-                throw sortingException;
-            }
-
-            long endTime = System.nanoTime();
-            long executionTime = endTime - startTime;
-
-            // Coleta metricas desta execucao
-            executionTimes.add(executionTime);
-            comparisonCounts.add(metrics.getComparisons());
-            swapCounts.add(metrics.getSwaps());
+        TimingStatistics statistics = measurement.getStatistics();
+        long executionTime = Math.round(statistics.getMeanNanos());
+
+        // Verifica se o resultado esta ordenado (feito pelo engine, fora da medicao de tempo)
+        if (!measurement.isSorted()) {
+            SortingException sortingException = new SortingException(
+                    "Resultado da ordenação está incorreto",
+                    algorithm.getName(),
+                    dataType.getDescription(),
+                    size,
+                    executionTime);
+            exceptionLogger.logSortingException(sortingException, "Medição de " + iterations + " execuções");
+            throw sortingException;
+        }
 
-            if (!successful) {
-                allSuccessful = false;
-            }
+        // Passe separado, fora da medicao de tempo, apenas para contar operacoes
+        SortingMetrics countingMetrics = new SortingMetrics();
+        for (int i = 0; i < COUNTING_EXECUTIONS; i++) {
+            int[] countingData = originalArray.clone();
+            algorithm.sort(countingData, 0, countingData.length, countingMetrics);
         }
 
         // Calcula medias
-        long averageTime = executionTimes.stream().mapToLong(Long::longValue).sum() / iterations;
-        long averageComparisons = comparisonCounts.stream().mapToLong(Long::longValue).sum() / iterations;
-        long averageSwaps = swapCounts.stream().mapToLong(Long::longValue).sum() / iterations;
+        long averageComparisons = countingMetrics.getComparisons() / COUNTING_EXECUTIONS;
+        long averageSwaps = countingMetrics.getSwaps() / COUNTING_EXECUTIONS;
 
-        // Salva o array ordenado (da primeira execucao bem-sucedida)
-        if (finalSortedArray != null) {
-            arrayExporter.saveSortedArray(algorithm.getName(), dataType, size, finalSortedArray);
-        }
+        // Salva o array ordenado (da primeira execucao medida)
+        arrayExporter.saveSortedArray(algorithm.getName(), dataType, size, measurement.getOutput());
 
         return new PerformanceResult(
                 algorithm.getName(),
                 dataType.getDescription(),
                 size,
-                averageTime,
-                allSuccessful,
+                executionTime,
+                true,
                 averageComparisons,
-                averageSwaps);
+                averageSwaps,
+                statistics);
     }
 
     /**
-     * Verifica se um array esta ordenado
+     * Cria as instancias dos algoritmos para comparacao
      */
-    private boolean isArraySorted(int[] array) {
-        if (array == null || array.length <= 1) {
-            return true;
-        }
+    private List<SortingAlgorithm> createAlgorithms(int optimalThreshold) {
+        List<SortingAlgorithm> algorithms = new ArrayList<>();
 
-        for (int i = 1; i < array.length; i++) {
-            if (array[i] < array[i - 1]) {
-                return false;
-            }
+        algorithms.add(new RecursiveQuickSort());
+        algorithms.add(new HybridQuickSort(optimalThreshold));
+        algorithms.add(new ImprovedHybridQuickSort(optimalThreshold));
+        algorithms.add(new ImprovedHybridQuickSort(optimalThreshold, new SortingNetworkBaseCase()));
+        algorithms.add(new ParallelHybridQuickSort(optimalThreshold));
+        algorithms.add(new DualPivotQuickSort(optimalThreshold));
+        algorithms.add(new ThreeWayQuickSort(optimalThreshold));
+        algorithms.add(new IntroSort(optimalThreshold));
+        algorithms.add(new IterativeQuickSort(optimalThreshold));
+        algorithms.add(new LsdRadixSort());
+        algorithms.add(new AdaptiveSort(optimalThreshold));
+        algorithms.add(new NaturalMergeSort(optimalThreshold));
+        algorithms.add(new ParallelSampleSort(optimalThreshold));
+        algorithms.add(new VectorizedQuickSort(optimalThreshold));
+        algorithms.add(new BlockQuickSort(optimalThreshold));
+        algorithms.add(new PdqSort(optimalThreshold));
+
+        return algorithms;
+    }
+
+    /**
+     * Cria os algoritmos para um tipo de dados, incluindo o Quicksort hibrido
+     * melhorado com o pivo mais rapido do perfil quando ele nao e o padrao
+     */
+    private List<SortingAlgorithm> createAlgorithms(int threshold, TuningProfile tuningProfile, DataType dataType) {
+        List<SortingAlgorithm> algorithms = createAlgorithms(threshold);
+
+        PivotStrategy tunedPivot = findPivotStrategy(tuningProfile.getPivotStrategy(dataType));
+        if (tunedPivot != null && !(tunedPivot instanceof MedianOfThreePivot)) {
+            algorithms.add(new ImprovedHybridQuickSort(threshold, tunedPivot));
         }
-        return true;
+
+        return algorithms;
     }
 
     /**
-     * Cria as instancias dos algoritmos para comparacao
+     * Cria as instancias dos algoritmos com garantia O(n log n) no pior caso
      */
-    private List<SortingAlgorithm> createAlgorithms(int optimalThreshold) {
+    private List<SortingAlgorithm> createGuaranteedAlgorithms(int optimalThreshold) {
         List<SortingAlgorithm> algorithms = new ArrayList<>();
 
-        algorithms.add(new RecursiveQuickSort());
-        algorithms.add(new HybridQuickSort(optimalThreshold));
-        algorithms.add(new ImprovedHybridQuickSort(optimalThreshold));
+        algorithms.add(new IntroSort(optimalThreshold));
+        algorithms.add(new LsdRadixSort());
+        algorithms.add(new AdaptiveSort(optimalThreshold));
+        algorithms.add(new NaturalMergeSort(optimalThreshold));
+        algorithms.add(new BlockQuickSort(optimalThreshold));
+        algorithms.add(new PdqSort(optimalThreshold));
 
         return algorithms;
     }
 
+    /**
+     * Exibe o speedup da versao paralela em relacao ao Quicksort hibrido sequencial
+     */
+    private void reportParallelSpeedup(PerformanceResult sequentialResult, PerformanceResult parallelResult) {
+        if (sequentialResult == null || parallelResult == null || parallelResult.getExecutionTimeNanos() <= 0) {
+            return;
+        }
+
+        double speedup = (double) sequentialResult.getExecutionTimeNanos() / parallelResult.getExecutionTimeNanos();
+        System.out.printf("  -> Speedup paralelo vs sequencial: %.2fx%n", speedup);
+    }
+
+    /**
+     * Cria as estrategias de pivo comparadas; a primeira e a referencia
+     */
+    private List<PivotStrategy> createPivotStrategies() {
+        List<PivotStrategy> strategies = new ArrayList<>();
+
+        strategies.add(new MedianOfThreePivot());
+        strategies.add(new NintherPivot());
+        strategies.add(new MedianOfKPivot(7));
+        strategies.add(new RandomPivot(42));
+
+        return strategies;
+    }
+
+    /**
+     * Retorna a estrategia de pivo com o nome informado, ou null se nao houver
+     */
+    private PivotStrategy findPivotStrategy(String name) {
+        if (name == null) {
+            return null;
+        }
+        return createPivotStrategies().stream()
+                .filter(strategy -> strategy.getName().equals(name))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Executa o Quicksort hibrido melhorado com cada estrategia de pivo e
+     * reporta o ganho em relacao a mediana-de-tres para cada tipo de dados.
+     * A estrategia mais rapida de cada tipo e gravada no perfil de ajuste.
+     */
+    private void executePivotStrategyAnalysis(TuningProfile tuningProfile, DataType[] dataTypes,
+            List<PerformanceResult> allResults) throws SortingException, ValidationException {
+        System.out.println("=== ANALISE DAS ESTRATEGIAS DE PIVO ===");
+        System.out.println();
+        System.out.println("Tamanho do array: " + PIVOT_ANALYSIS_SIZE + " (referencia: Mediana-de-3)");
+        System.out.println();
+
+        List<PivotStrategy> strategies = createPivotStrategies();
+
+        for (DataType dataType : dataTypes) {
+            System.out.println("--- " + dataType.getDescription() + " ---");
+
+            int[] originalArray = testDataGenerator.generateData(dataType, PIVOT_ANALYSIS_SIZE);
+            arrayExporter.saveOriginalArray(dataType, PIVOT_ANALYSIS_SIZE, originalArray);
+
+            List<PerformanceResult> pivotResults = new ArrayList<>();
+            PerformanceResult baselineResult = null;
+            PerformanceResult fastestResult = null;
+            PivotStrategy fastestStrategy = null;
+            int threshold = tuningProfile.getThresholdTable().thresholdFor(dataType, PIVOT_ANALYSIS_SIZE);
+
+            for (PivotStrategy strategy : strategies) {
+                SortingAlgorithm algorithm = new ImprovedHybridQuickSort(threshold, strategy);
+                PerformanceResult result = testAlgorithmMultipleTimesAndSaveArrays(
+                        algorithm, dataType, PIVOT_ANALYSIS_SIZE, originalArray, MULTIPLE_EXECUTIONS);
+                pivotResults.add(result);
+                allResults.add(result);
+
+                if (baselineResult == null) {
+                    baselineResult = result;
+                }
+                if (fastestResult == null || result.getExecutionTimeNanos() < fastestResult.getExecutionTimeNanos()) {
+                    fastestResult = result;
+                    fastestStrategy = strategy;
+                }
+
+                System.out.printf("  %-22s %.2f ms | Comp: %d | Ganho tempo: %+.1f%% | Ganho comp: %+.1f%%%n",
+                        strategy.getName() + ":",
+                        result.getExecutionTimeMillis(),
+                        result.getComparisons(),
+                        percentGain(baselineResult.getExecutionTimeNanos(), result.getExecutionTimeNanos()),
+                        percentGain(baselineResult.getComparisons(), result.getComparisons()));
+            }
+
+            System.out.printf("  -> Mais rapida: %s%n", fastestStrategy.getName());
+            tuningProfile.setPivotStrategy(dataType, fastestStrategy.getName());
+
+            arrayExporter.saveTestResults(pivotResults, "Analise_Estrategias_Pivo", dataType);
+            System.out.println();
+        }
+
+        saveTuningProfile(tuningProfile);
+    }
+
+    /**
+     * Reducao percentual de um valor em relacao a referencia (positivo = melhor)
+     */
+    private double percentGain(long baselineValue, long value) {
+        if (baselineValue <= 0) {
+            return 0.0;
+        }
+        return 100.0 * (baselineValue - value) / baselineValue;
+    }
+
     /**
      * Executa analise especifica do pior caso
      */
-    private void executeWorstCaseAnalysis(List<SortingAlgorithm> algorithms, List<PerformanceResult> allResults)
+    private void executeWorstCaseAnalysis(List<SortingAlgorithm> algorithms,
+            List<SortingAlgorithm> guaranteedAlgorithms, List<PerformanceResult> allResults)
             throws ValidationException {
         System.out.println("=== ANALISE DO PIOR CASO ===");
         System.out.println();
@@ -331,44 +480,61 @@ public class QuickSortComparativeStudy {
         List<PerformanceResult> worstCaseResults = new ArrayList<>();
 
         for (int size : worstCaseSizes) {
-            System.out.println("Tamanho: " + size);
-
-            // Gera array do pior caso
-            int[] worstCaseArray = testDataGenerator.generateData(DataType.WORST_CASE, size);
-            arrayExporter.saveOriginalArray(DataType.WORST_CASE, size, worstCaseArray);
-
-            for (SortingAlgorithm algorithm : algorithms) {
-                try {
-                    // MUDANCA: Usa multiplas execucoes tambem no pior caso
-                    PerformanceResult result = testAlgorithmMultipleTimesAndSaveArrays(
-                            algorithm, DataType.WORST_CASE, size, worstCaseArray, MULTIPLE_EXECUTIONS);
-                    worstCaseResults.add(result);
-                    allResults.add(result);
-
-                    System.out.printf("  %s: %.2f ms | Comp: %d | Trocas: %d (Sucesso: %s)%n",
-                            result.getAlgorithmName(),
-                            result.getExecutionTimeMillis(),
-                            result.getComparisons(),
-                            result.getSwaps(),
-                            result.isSuccessful() ? "Sim" : "Nao");
-
-                } catch (StackOverflowError e) {
-                    System.out.printf("  %s: STACK OVERFLOW ERROR%n", algorithm.getName());
-                    exceptionLogger.logStackOverflow(
-                            new StackOverflowException(algorithm.getName(), "WORST_CASE", size, 0, 0),
-                            "Análise do pior caso");
-                } catch (SortingException e) {
-                    System.out.printf("  %s: ERRO - %s%n", algorithm.getName(), e.getMessage());
-                    exceptionLogger.logSortingException(e, "Análise do pior caso");
-                }
-            }
-            System.out.println();
+            executeWorstCaseForSize(algorithms, size, worstCaseResults, allResults);
+        }
+
+        // Algoritmos com garantia O(n log n) tambem sao testados em tamanhos de producao
+        System.out.println("Tamanhos de producao (apenas algoritmos com garantia O(n log n)):");
+        System.out.println();
+
+        for (int size : WORST_CASE_PRODUCTION_SIZES) {
+            executeWorstCaseForSize(guaranteedAlgorithms, size, worstCaseResults, allResults);
         }
 
         // Salva resultados da analise do pior caso
         arrayExporter.saveTestResults(worstCaseResults, "Analise_Pior_Caso", DataType.WORST_CASE);
     }
 
+    /**
+     * Executa os algoritmos informados sobre um array de pior caso de um tamanho
+     */
+    private void executeWorstCaseForSize(List<SortingAlgorithm> algorithms, int size,
+            List<PerformanceResult> worstCaseResults, List<PerformanceResult> allResults)
+            throws ValidationException {
+        System.out.println("Tamanho: " + size);
+
+        // Gera array do pior caso
+        int[] worstCaseArray = testDataGenerator.generateData(DataType.WORST_CASE, size);
+        arrayExporter.saveOriginalArray(DataType.WORST_CASE, size, worstCaseArray);
+
+        for (SortingAlgorithm algorithm : algorithms) {
+            try {
+                // MUDANCA: Usa multiplas execucoes tambem no pior caso
+                PerformanceResult result = testAlgorithmMultipleTimesAndSaveArrays(
+                        algorithm, DataType.WORST_CASE, size, worstCaseArray, MULTIPLE_EXECUTIONS);
+                worstCaseResults.add(result);
+                allResults.add(result);
+
+                System.out.printf("  %s: %.2f ms | Comp: %d | Trocas: %d (Sucesso: %s)%n",
+                        result.getAlgorithmName(),
+                        result.getExecutionTimeMillis(),
+                        result.getComparisons(),
+                        result.getSwaps(),
+                        result.isSuccessful() ? "Sim" : "Nao");
+
+            } catch (StackOverflowError e) {
+                System.out.printf("  %s: STACK OVERFLOW ERROR%n", algorithm.getName());
+                exceptionLogger.logStackOverflow(
+                        new StackOverflowException(algorithm.getName(), "WORST_CASE", size, 0, 0),
+                        "Análise do pior caso");
+            } catch (SortingException e) {
+                System.out.printf("  %s: ERRO - %s%n", algorithm.getName(), e.getMessage());
+                exceptionLogger.logSortingException(e, "Análise do pior caso");
+            }
+        }
+        System.out.println();
+    }
+
     /**
      * Valida a configuração do estudo antes da execução
      */
@@ -387,18 +553,37 @@ public class QuickSortComparativeStudy {
     }
 
     /**
-     * Determina o threshold ótimo com tratamento de erro robusto
+     * Carrega o perfil de ajuste desta maquina ou, se ele estiver ausente ou
+     * desatualizado, determina o threshold ótimo de cada tipo de dados e faixa
+     * de tamanho e salva um novo perfil, com tratamento de erro robusto
      */
-    private int determineOptimalThreshold() throws SortingException {
+    private TuningProfile determineTuningProfile(DataType[] dataTypes) {
+        String tunedAlgorithm = thresholdOptimizer.getAlgorithmName();
+        TuningProfile storedProfile = tuningProfileStore.load(tunedAlgorithm, dataTypes, TUNED_SIZE_BUCKETS);
+        if (storedProfile != null) {
+            System.out.println("Perfil de ajuste carregado de " + tuningProfileStore.getProfileFile()
+                    + " (gerado em " + storedProfile.getCreatedAt() + "); otimizacao do threshold ignorada");
+            printThresholdTable(storedProfile.getThresholdTable(), dataTypes);
+            return storedProfile;
+        }
+
         try {
-            ThresholdOptimizer.OptimizationResult optimization = thresholdOptimizer.findOptimalThreshold(1000, 10);
-            int optimalThreshold = optimization.getOptimalThreshold();
+            ThresholdTable thresholdTable = thresholdOptimizer.findOptimalThresholds(
+                    dataTypes, TUNED_SIZE_BUCKETS, THRESHOLD_ITERATIONS, DEFAULT_THRESHOLD);
 
-            if (optimalThreshold <= 0) {
-                throw new ValidationException("Threshold ótimo inválido", "optimalThreshold", optimalThreshold);
+            for (DataType dataType : dataTypes) {
+                for (SizeBucket bucket : TUNED_SIZE_BUCKETS) {
+                    int threshold = thresholdTable.get(dataType, bucket);
+                    if (threshold <= 0) {
+                        throw new ValidationException("Threshold ótimo inválido", "optimalThreshold", threshold);
+                    }
+                }
             }
+            printThresholdTable(thresholdTable, dataTypes);
 
-            return optimalThreshold;
+            TuningProfile tuningProfile = new TuningProfile(thresholdTable, tunedAlgorithm);
+            saveTuningProfile(tuningProfile);
+            return tuningProfile;
         } catch (Exception e) {
             exceptionLogger.logGenericError("THRESHOLD_OPTIMIZATION_ERROR",
                     "Erro ao determinar threshold ótimo: " + e.getMessage(),
@@ -406,9 +591,33 @@ public class QuickSortComparativeStudy {
                     "Otimização de threshold");
 
             // Usa valor padrão em caso de erro
-            int defaultThreshold = 10;
-            exceptionLogger.logWarning("Usando threshold padrão: " + defaultThreshold, "Fallback de threshold");
-            return defaultThreshold;
+            exceptionLogger.logWarning("Usando threshold padrão: " + DEFAULT_THRESHOLD, "Fallback de threshold");
+            return new TuningProfile(new ThresholdTable(DEFAULT_THRESHOLD), tunedAlgorithm);
+        }
+    }
+
+    /**
+     * Exibe o threshold de cada tipo de dados e faixa de tamanho
+     */
+    private void printThresholdTable(ThresholdTable thresholdTable, DataType[] dataTypes) {
+        System.out.println("Thresholds ajustados (M):");
+        for (DataType dataType : dataTypes) {
+            for (SizeBucket bucket : TUNED_SIZE_BUCKETS) {
+                System.out.printf("  %s, %s (ate %d): M=%d%n", dataType.getDescription(),
+                        bucket.getDescription(), bucket.getMaxSize(), thresholdTable.get(dataType, bucket));
+            }
+        }
+    }
+
+    /**
+     * Salva o perfil de ajuste; uma falha nao interrompe o estudo, so faz o
+     * proximo inicio repetir o ajuste
+     */
+    private void saveTuningProfile(TuningProfile tuningProfile) {
+        try {
+            tuningProfileStore.save(tuningProfile);
+        } catch (FileOperationException e) {
+            System.err.println("Erro ao salvar perfil de ajuste: " + e.getMessage());
         }
     }
 
@@ -0,0 +1,61 @@
+package paa.sort.domain;
+
+import paa.sort.domain.performance.NoOpSortingMetrics;
+import paa.sort.domain.performance.SortingMetrics;
+
+/**
+ * Interface para algoritmos de ordenacao especializados em double[], sem boxing
+ */
+public interface DoubleSortingAlgorithm {
+    /**
+     * Ordena um array de double sem coletar metricas
+     * @param array Array a ser ordenado
+     * @return Array ordenado
+     */
+    default double[] sort(double[] array) {
+        return sort(array, NoOpSortingMetrics.INSTANCE);
+    }
+
+    /**
+     * Ordena um array de double coletando metricas de performance.
+     * O array recebido nao e alterado: a ordenacao e feita em uma copia.
+     * @param array Array a ser ordenado
+     * @param metrics Objeto para coletar metricas de comparacoes e trocas
+     * @return Array ordenado
+     */
+    default double[] sort(double[] array, SortingMetrics metrics) {
+        if (array == null || array.length <= 1) {
+            return array;
+        }
+        double[] sortedArray = array.clone();
+        sort(sortedArray, 0, sortedArray.length, metrics);
+        return sortedArray;
+    }
+
+    /**
+     * Ordena in-place o intervalo array[fromIndex..toIndex-1], sem alocar copia
+     * e sem coletar metricas
+     * @param array Array cujo intervalo sera ordenado
+     * @param fromIndex Indice inicial (inclusivo)
+     * @param toIndex Indice final (exclusivo)
+     */
+    default void sort(double[] array, int fromIndex, int toIndex) {
+        sort(array, fromIndex, toIndex, NoOpSortingMetrics.INSTANCE);
+    }
+
+    /**
+     * Ordena in-place o intervalo array[fromIndex..toIndex-1] coletando metricas
+     * @param array Array cujo intervalo sera ordenado
+     * @param fromIndex Indice inicial (inclusivo)
+     * @param toIndex Indice final (exclusivo)
+     * @param metrics Objeto para coletar metricas de comparacoes e trocas
+     * @throws IndexOutOfBoundsException se o intervalo for invalido para o array
+     */
+    void sort(double[] array, int fromIndex, int toIndex, SortingMetrics metrics);
+
+    /**
+     * Retorna o nome do algoritmo
+     * @return Nome do algoritmo
+     */
+    String getName();
+}
@@ -1,5 +1,6 @@
 package paa.sort.domain;
 
+import paa.sort.domain.performance.NoOpSortingMetrics;
 import paa.sort.domain.performance.SortingMetrics;
 
 /**
@@ -7,19 +8,50 @@ import paa.sort.domain.performance.SortingMetrics;
  */
 public interface SortingAlgorithm {
     /**
-     * Ordena um array de inteiros
+     * Ordena um array de inteiros sem coletar metricas
      * @param array Array a ser ordenado
      * @return Array ordenado
      */
-    int[] sort(int[] array);
+    default int[] sort(int[] array) {
+        return sort(array, NoOpSortingMetrics.INSTANCE);
+    }
 
     /**
-     * Ordena um array de inteiros coletando metricas de performance
+     * Ordena um array de inteiros coletando metricas de performance.
+     * O array recebido nao e alterado: a ordenacao e feita em uma copia.
      * @param array Array a ser ordenado
      * @param metrics Objeto para coletar metricas de comparacoes e trocas
      * @return Array ordenado
      */
-    int[] sort(int[] array, SortingMetrics metrics);
+    default int[] sort(int[] array, SortingMetrics metrics) {
+        if (array == null || array.length <= 1) {
+            return array;
+        }
+        int[] sortedArray = array.clone();
+        sort(sortedArray, 0, sortedArray.length, metrics);
+        return sortedArray;
+    }
+
+    /**
+     * Ordena in-place o intervalo array[fromIndex..toIndex-1], sem alocar copia
+     * e sem coletar metricas
+     * @param array Array cujo intervalo sera ordenado
+     * @param fromIndex Indice inicial (inclusivo)
+     * @param toIndex Indice final (exclusivo)
+     */
+    default void sort(int[] array, int fromIndex, int toIndex) {
+        sort(array, fromIndex, toIndex, NoOpSortingMetrics.INSTANCE);
+    }
+
+    /**
+     * Ordena in-place o intervalo array[fromIndex..toIndex-1] coletando metricas
+     * @param array Array cujo intervalo sera ordenado
+     * @param fromIndex Indice inicial (inclusivo)
+     * @param toIndex Indice final (exclusivo)
+     * @param metrics Objeto para coletar metricas de comparacoes e trocas
+     * @throws IndexOutOfBoundsException se o intervalo for invalido para o array
+     */
+    void sort(int[] array, int fromIndex, int toIndex, SortingMetrics metrics);
 
     /**
      * Retorna o nome do algoritmo
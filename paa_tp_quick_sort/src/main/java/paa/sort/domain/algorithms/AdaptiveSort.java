@@ -0,0 +1,257 @@
+package paa.sort.domain.algorithms;
+
+import paa.sort.domain.SortingAlgorithm;
+import paa.sort.domain.performance.NoOpSortingMetrics;
+import paa.sort.domain.performance.SortingMetrics;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Fachada que analisa a entrada em O(n) antes de ordenar e escolhe o algoritmo
+ * mais adequado ao seu formato:
+ * - ja ordenada: apenas a verificacao linear;
+ * - em ordem decrescente: inversao in-place;
+ * - quase ordenada: Insertion Sort com limite de movimentos;
+ * - poucos valores distintos: Counting Sort (faixa pequena) ou Quicksort 3-vias;
+ * - demais casos: Introsort.
+ */
+public class AdaptiveSort implements SortingAlgorithm {
+    // Entradas com no maximo n/NEARLY_SORTED_DIVISOR descidas sao tratadas como quase ordenadas
+    private static final int NEARLY_SORTED_DIVISOR = 64;
+    // Limite de movimentos do Insertion Sort, por elemento, antes de desistir
+    private static final int INSERTION_MOVES_PER_ELEMENT = 8;
+    private static final int DISTINCT_SAMPLE_SIZE = 128;
+    // Amostra com no maximo 1/FEW_DISTINCT_DIVISOR de valores distintos indica poucos valores
+    private static final int FEW_DISTINCT_DIVISOR = 4;
+
+    /**
+     * Estrategia escolhida a partir da analise da entrada
+     */
+    public enum Strategy {
+        ALREADY_SORTED("Ja ordenado"),
+        REVERSE("Inversao"),
+        INSERTION_SORT("Insertion Sort"),
+        COUNTING_SORT("Counting Sort"),
+        THREE_WAY_QUICKSORT("Quicksort 3-vias"),
+        INTROSORT("Introsort");
+
+        private final String description;
+
+        Strategy(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    private final int threshold;
+    private final ThreeWayQuickSort threeWayQuickSort;
+    private final IntroSort introSort;
+
+    public AdaptiveSort(int threshold) {
+        this.threshold = threshold;
+        this.threeWayQuickSort = new ThreeWayQuickSort(threshold);
+        this.introSort = new IntroSort(threshold);
+    }
+
+    @Override
+    public void sort(int[] array, int fromIndex, int toIndex, SortingMetrics metrics) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        if (toIndex - fromIndex <= 1) {
+            return;
+        }
+
+        InputProfile profile = analyze(array, fromIndex, toIndex, metrics);
+        Strategy strategy = chooseStrategy(profile, array, fromIndex, toIndex);
+
+        switch (strategy) {
+            case ALREADY_SORTED -> {
+                // A analise ja confirmou a ordenacao
+            }
+            case REVERSE -> reverse(array, fromIndex, toIndex - 1, metrics);
+            case INSERTION_SORT -> {
+                int maxMoves = INSERTION_MOVES_PER_ELEMENT * (toIndex - fromIndex);
+                if (!boundedInsertionSort(array, fromIndex, toIndex - 1, maxMoves, metrics)) {
+                    // Desordem maior do que a estimada: termina com o Introsort
+                    introSort.sort(array, fromIndex, toIndex, metrics);
+                }
+            }
+            case COUNTING_SORT -> countingSort(array, fromIndex, toIndex, profile.minValue, profile.maxValue, metrics);
+            case THREE_WAY_QUICKSORT -> threeWayQuickSort.sort(array, fromIndex, toIndex, metrics);
+            case INTROSORT -> introSort.sort(array, fromIndex, toIndex, metrics);
+        }
+    }
+
+    /**
+     * Retorna a estrategia que seria usada para ordenar o array, sem altera-lo
+     */
+    public Strategy chooseStrategy(int[] array) {
+        if (array == null || array.length <= 1) {
+            return Strategy.ALREADY_SORTED;
+        }
+        InputProfile profile = analyze(array, 0, array.length, NoOpSortingMetrics.INSTANCE);
+        return chooseStrategy(profile, array, 0, array.length);
+    }
+
+    private Strategy chooseStrategy(InputProfile profile, int[] array, int fromIndex, int toIndex) {
+        int length = toIndex - fromIndex;
+
+        if (profile.descents == 0) {
+            return Strategy.ALREADY_SORTED;
+        }
+        if (profile.ascents == 0) {
+            return Strategy.REVERSE;
+        }
+        if (profile.descents <= length / NEARLY_SORTED_DIVISOR) {
+            return Strategy.INSERTION_SORT;
+        }
+        if (hasFewDistinctValues(array, fromIndex, toIndex)) {
+            // Counting Sort so compensa quando a faixa de valores nao e maior que o array
+            long valueRange = (long) profile.maxValue - profile.minValue + 1;
+            return valueRange <= length ? Strategy.COUNTING_SORT : Strategy.THREE_WAY_QUICKSORT;
+        }
+        return Strategy.INTROSORT;
+    }
+
+    /**
+     * Percorre a entrada uma vez contando subidas, descidas, minimo e maximo
+     */
+    private InputProfile analyze(int[] array, int fromIndex, int toIndex, SortingMetrics metrics) {
+        InputProfile profile = new InputProfile();
+        profile.minValue = array[fromIndex];
+        profile.maxValue = array[fromIndex];
+
+        for (int index = fromIndex + 1; index < toIndex; index++) {
+            int previousValue = array[index - 1];
+            int currentValue = array[index];
+
+            metrics.addComparisons(2); // Comparacoes: currentValue < previousValue e currentValue > previousValue
+            if (currentValue < previousValue) {
+                profile.descents++;
+            } else if (currentValue > previousValue) {
+                profile.ascents++;
+            }
+
+            if (currentValue < profile.minValue) {
+                profile.minValue = currentValue;
+            } else if (currentValue > profile.maxValue) {
+                profile.maxValue = currentValue;
+            }
+        }
+        metrics.incrementPasses();
+        return profile;
+    }
+
+    /**
+     * Estima a quantidade de valores distintos por uma amostra espacada uniformemente
+     */
+    private boolean hasFewDistinctValues(int[] array, int fromIndex, int toIndex) {
+        int length = toIndex - fromIndex;
+        int sampleSize = Math.min(DISTINCT_SAMPLE_SIZE, length);
+        int[] sample = new int[sampleSize];
+        for (int sampleIndex = 0; sampleIndex < sampleSize; sampleIndex++) {
+            sample[sampleIndex] = array[fromIndex + (int) ((long) sampleIndex * length / sampleSize)];
+        }
+        Arrays.sort(sample);
+
+        int distinctValues = 1;
+        for (int sampleIndex = 1; sampleIndex < sampleSize; sampleIndex++) {
+            if (sample[sampleIndex] != sample[sampleIndex - 1]) {
+                distinctValues++;
+            }
+        }
+        return distinctValues <= sampleSize / FEW_DISTINCT_DIVISOR;
+    }
+
+    private void reverse(int[] array, int low, int high, SortingMetrics metrics) {
+        while (low < high) {
+            swap(array, low++, high--, metrics);
+        }
+    }
+
+    /**
+     * Insertion Sort que desiste ao ultrapassar maxMoves movimentos. O array
+     * continua sendo uma permutacao valida da entrada mesmo quando desiste.
+     *
+     * @return true se o subarray terminou ordenado
+     */
+    private boolean boundedInsertionSort(int[] array, int low, int high, int maxMoves, SortingMetrics metrics) {
+        int moves = 0;
+        for (int currentIndex = low + 1; currentIndex <= high; currentIndex++) {
+            int valueToInsert = array[currentIndex];
+            int comparisonIndex = currentIndex - 1;
+
+            while (comparisonIndex >= low) {
+                metrics.incrementComparisons(); // Comparacao: array[comparisonIndex] > valueToInsert
+                if (array[comparisonIndex] > valueToInsert) {
+                    array[comparisonIndex + 1] = array[comparisonIndex];
+                    metrics.incrementSwaps(); // Movimento/troca
+                    comparisonIndex--;
+                    moves++;
+                } else {
+                    break;
+                }
+            }
+
+            int insertionPosition = comparisonIndex + 1;
+            if (insertionPosition != currentIndex) {
+                array[insertionPosition] = valueToInsert;
+                metrics.incrementSwaps(); // Insercao do valueToInsert na posicao correta
+            }
+
+            if (moves > maxMoves) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counting Sort para faixas de valores pequenas: conta as ocorrencias de
+     * cada valor e reescreve o subarray em ordem
+     */
+    private void countingSort(int[] array, int fromIndex, int toIndex, int minValue, int maxValue,
+            SortingMetrics metrics) {
+        int[] counts = new int[maxValue - minValue + 1];
+        for (int index = fromIndex; index < toIndex; index++) {
+            counts[array[index] - minValue]++;
+        }
+        metrics.incrementPasses();
+
+        int writeIndex = fromIndex;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            for (int occurrence = 0; occurrence < counts[bucket]; occurrence++) {
+                array[writeIndex++] = bucket + minValue;
+            }
+        }
+        metrics.incrementPasses();
+        metrics.addSwaps(toIndex - fromIndex);
+    }
+
+    private void swap(int[] array, int firstIndex, int secondIndex, SortingMetrics metrics) {
+        if (firstIndex != secondIndex) { // So conta como troca se as posicoes forem diferentes
+            metrics.incrementSwaps();
+            int tempValue = array[firstIndex];
+            array[firstIndex] = array[secondIndex];
+            array[secondIndex] = tempValue;
+        }
+    }
+
+    /**
+     * Resultado da analise linear da entrada
+     */
+    private static class InputProfile {
+        private int ascents;
+        private int descents;
+        private int minValue;
+        private int maxValue;
+    }
+
+    @Override
+    public String getName() {
+        return "Ordenacao Adaptativa (M=" + threshold + ")";
+    }
+}
@@ -0,0 +1,214 @@
+package paa.sort.domain.algorithms;
+
+import paa.sort.domain.SortingAlgorithm;
+import paa.sort.domain.algorithms.basecase.BaseCaseSort;
+import paa.sort.domain.algorithms.basecase.InsertionSortBaseCase;
+import paa.sort.domain.performance.SortingMetrics;
+
+import java.util.Objects;
+
+/**
+ * Implementacao do BlockQuicksort (Edelkamp e Weiss): particionamento de Hoare
+ * em que as comparacoes com o pivo nao decidem desvios. Cada extremidade
+ * percorre um bloco de BLOCK_SIZE elementos gravando sempre o indice atual no
+ * buffer de offsets e avancando o contador so quando o elemento esta do lado
+ * errado (offset += condicao ? 1 : 0, compilado sem desvio). Depois os
+ * elementos fora do lugar dos dois buffers sao trocados em lote.
+ *
+ * Em DataType.RANDOM metade dos desvios "array[i] <= pivo" do particionamento
+ * de Lomuto e prevista errado; aqui so os lacos de bloco tem desvios, e eles
+ * sao previsiveis. O pivo e a mediana-de-tres e, como no Introsort, acima de
+ * 2*log2(n) niveis o subarray vai para o Heapsort.
+ */
+public class BlockQuickSort implements SortingAlgorithm {
+    // 64 offsets por lado cabem no cache L1 junto com os blocos de dados
+    private static final int BLOCK_SIZE = 64;
+
+    private final int threshold;
+    private final BaseCaseSort baseCase;
+
+    public BlockQuickSort(int threshold) {
+        this(threshold, new InsertionSortBaseCase());
+    }
+
+    public BlockQuickSort(int threshold, BaseCaseSort baseCase) {
+        this.threshold = threshold;
+        this.baseCase = baseCase;
+    }
+
+    @Override
+    public void sort(int[] array, int fromIndex, int toIndex, SortingMetrics metrics) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        int[] leftOffsets = new int[BLOCK_SIZE];
+        int[] rightOffsets = new int[BLOCK_SIZE];
+        quickSort(array, fromIndex, toIndex - 1, IntroSort.depthLimit(toIndex - fromIndex),
+                leftOffsets, rightOffsets, metrics);
+    }
+
+    private void quickSort(int[] array, int low, int high, int remainingDepth,
+                           int[] leftOffsets, int[] rightOffsets, SortingMetrics metrics) {
+        while (true) {
+            metrics.incrementComparisons(); // Comparacao: low < high
+            if (low >= high) {
+                return;
+            }
+
+            // Se o subarray e pequeno, usa o caso base (Insertion Sort por padrao)
+            int subarraySize = high - low + 1;
+            metrics.incrementComparisons(); // Comparacao: subarraySize <= threshold
+            if (subarraySize <= threshold) {
+                baseCase.sort(array, low, high, metrics);
+                return;
+            }
+            if (remainingDepth == 0) {
+                // Particionamentos ruins demais: garante O(n log n) com Heapsort
+                HeapSort.sort(array, low, high, metrics);
+                return;
+            }
+            remainingDepth--;
+
+            int medianIndex = medianOfThree(array, low, high, metrics);
+            swap(array, medianIndex, low, metrics); // Move o pivo para o inicio
+
+            int pivotIndex = partition(array, low, high, leftOffsets, rightOffsets, metrics);
+
+            // Recursao na menor particao, laco na maior
+            if (pivotIndex - low < high - pivotIndex) {
+                quickSort(array, low, pivotIndex - 1, remainingDepth, leftOffsets, rightOffsets, metrics);
+                low = pivotIndex + 1;
+            } else {
+                quickSort(array, pivotIndex + 1, high, remainingDepth, leftOffsets, rightOffsets, metrics);
+                high = pivotIndex - 1;
+            }
+        }
+    }
+
+    /**
+     * Encontra a mediana de tres elementos (primeiro, meio e ultimo)
+     * e retorna o indice do elemento mediano
+     */
+    private int medianOfThree(int[] array, int low, int high, SortingMetrics metrics) {
+        int midIndex = low + (high - low) / 2;
+
+        metrics.incrementComparisons(); // Comparacao: array[low] > array[midIndex]
+        if (array[low] > array[midIndex]) {
+            swap(array, low, midIndex, metrics);
+        }
+
+        metrics.incrementComparisons(); // Comparacao: array[midIndex] > array[high]
+        if (array[midIndex] > array[high]) {
+            swap(array, midIndex, high, metrics);
+        }
+
+        metrics.incrementComparisons(); // Comparacao: array[low] > array[midIndex]
+        if (array[low] > array[midIndex]) {
+            swap(array, low, midIndex, metrics);
+        }
+
+        return midIndex; // O elemento do meio e a mediana
+    }
+
+    /**
+     * Particiona array[low+1..high] em torno do pivo em array[low]: a esquerda
+     * ficam os menores ou iguais e a direita os maiores ou iguais. Elementos
+     * iguais ao pivo nao sao movidos, entao entradas com muitas repeticoes
+     * terminam com a divisao no meio.
+     *
+     * @return Posicao final do pivo
+     */
+    private int partition(int[] array, int low, int high, int[] leftOffsets, int[] rightOffsets,
+                          SortingMetrics metrics) {
+        int pivotValue = array[low];
+        int left = low + 1;   // array[low+1..left-1] <= pivo
+        int right = high + 1; // array[right..high] >= pivo
+        int leftCount = 0;
+        int rightCount = 0;
+        int leftStart = 0;
+        int rightStart = 0;
+
+        while (right - left > 2 * BLOCK_SIZE) {
+            if (leftCount == 0) {
+                // Grava o offset sempre e so avanca se o elemento for maior que o pivo
+                leftStart = 0;
+                for (int offset = 0; offset < BLOCK_SIZE; offset++) {
+                    leftOffsets[leftCount] = offset;
+                    leftCount += array[left + offset] > pivotValue ? 1 : 0;
+                }
+                metrics.addComparisons(BLOCK_SIZE);
+            }
+            if (rightCount == 0) {
+                rightStart = 0;
+                for (int offset = 0; offset < BLOCK_SIZE; offset++) {
+                    rightOffsets[rightCount] = offset;
+                    rightCount += array[right - 1 - offset] < pivotValue ? 1 : 0;
+                }
+                metrics.addComparisons(BLOCK_SIZE);
+            }
+
+            // Troca em lote os pares de elementos fora do lugar
+            int swapCount = Math.min(leftCount, rightCount);
+            for (int pair = 0; pair < swapCount; pair++) {
+                int leftIndex = left + leftOffsets[leftStart + pair];
+                int rightIndex = right - 1 - rightOffsets[rightStart + pair];
+                int tempValue = array[leftIndex];
+                array[leftIndex] = array[rightIndex];
+                array[rightIndex] = tempValue;
+            }
+            metrics.addSwaps(swapCount);
+
+            leftCount -= swapCount;
+            rightCount -= swapCount;
+            leftStart += swapCount;
+            rightStart += swapCount;
+            if (leftCount == 0) {
+                left += BLOCK_SIZE;
+            }
+            if (rightCount == 0) {
+                right -= BLOCK_SIZE;
+            }
+        }
+
+        // Restam no maximo 2*BLOCK_SIZE elementos (incluindo um bloco com offsets
+        // pendentes, que e relido): termina com o Hoare tradicional
+        int leftIndex = left;
+        int rightIndex = right - 1;
+        while (true) {
+            while (leftIndex <= rightIndex && less(array[leftIndex], pivotValue, metrics)) {
+                leftIndex++;
+            }
+            while (leftIndex <= rightIndex && less(pivotValue, array[rightIndex], metrics)) {
+                rightIndex--;
+            }
+            if (leftIndex >= rightIndex) {
+                break;
+            }
+            swap(array, leftIndex, rightIndex, metrics);
+            leftIndex++;
+            rightIndex--;
+        }
+
+        // Se os indices pararam juntos, o elemento e igual ao pivo
+        int pivotIndex = leftIndex == rightIndex ? leftIndex : leftIndex - 1;
+        swap(array, low, pivotIndex, metrics);
+        return pivotIndex;
+    }
+
+    private boolean less(int firstValue, int secondValue, SortingMetrics metrics) {
+        metrics.incrementComparisons();
+        return firstValue < secondValue;
+    }
+
+    private void swap(int[] array, int firstIndex, int secondIndex, SortingMetrics metrics) {
+        if (firstIndex != secondIndex) { // So conta como troca se as posicoes forem diferentes
+            metrics.incrementSwaps();
+            int tempValue = array[firstIndex];
+            array[firstIndex] = array[secondIndex];
+            array[secondIndex] = tempValue;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "BlockQuicksort (M=" + threshold + ", blocos de " + BLOCK_SIZE + baseCase.getNameSuffix() + ")";
+    }
+}
@@ -0,0 +1,175 @@
+package paa.sort.domain.algorithms;
+
+import paa.sort.domain.DoubleSortingAlgorithm;
+import paa.sort.domain.performance.SortingMetrics;
+
+import java.util.Objects;
+
+/**
+ * Quicksort hibrido com mediana-de-tres especializado em double[], com a mesma
+ * ordem total de Double.compare: -0.0 vem antes de 0.0 e os NaN ficam no final.
+ * Segue a mesma logica de ImprovedHybridQuickSort, reescrita para o tipo
+ * primitivo para evitar boxing dos valores.
+ *
+ * Como os operadores < e <= nao ordenam NaN nem distinguem -0.0 de 0.0, a
+ * ordenacao e feita em tres fases: os NaN sao movidos para o final e os -0.0
+ * sao contados e trocados por 0.0; o Quicksort ordena o restante; por fim os
+ * primeiros zeros do bloco de zeros voltam a ser -0.0.
+ */
+public class DoubleHybridQuickSort implements DoubleSortingAlgorithm {
+    private static final long NEGATIVE_ZERO_BITS = Double.doubleToRawLongBits(-0.0d);
+
+    private final int threshold;
+
+    public DoubleHybridQuickSort(int threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void sort(double[] array, int fromIndex, int toIndex, SortingMetrics metrics) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+
+        // Fase 1: move os NaN para o final e substitui -0.0 por 0.0
+        int lastNumberIndex = toIndex - 1;
+        int negativeZeroCount = 0;
+        int currentIndex = fromIndex;
+        while (currentIndex <= lastNumberIndex) {
+            double value = array[currentIndex];
+            metrics.incrementComparisons(); // Comparacao: value != value (NaN)
+            if (value != value) {
+                swap(array, currentIndex, lastNumberIndex--, metrics);
+            } else {
+                if (Double.doubleToRawLongBits(value) == NEGATIVE_ZERO_BITS) {
+                    array[currentIndex] = 0.0d;
+                    negativeZeroCount++;
+                }
+                currentIndex++;
+            }
+        }
+
+        // Fase 2: ordena os valores numericos
+        quickSort(array, fromIndex, lastNumberIndex, metrics);
+
+        // Fase 3: restaura os -0.0 no inicio do bloco de zeros
+        if (negativeZeroCount > 0) {
+            int zeroIndex = firstNonNegativeIndex(array, fromIndex, lastNumberIndex, metrics);
+            for (int count = 0; count < negativeZeroCount; count++) {
+                array[zeroIndex + count] = -0.0d;
+            }
+        }
+    }
+
+    /**
+     * Busca binaria pelo primeiro indice com valor maior ou igual a zero
+     */
+    private int firstNonNegativeIndex(double[] array, int low, int high, SortingMetrics metrics) {
+        while (low <= high) {
+            int midIndex = (low + high) >>> 1;
+            metrics.incrementComparisons(); // Comparacao: array[midIndex] < 0
+            if (array[midIndex] < 0.0d) {
+                low = midIndex + 1;
+            } else {
+                high = midIndex - 1;
+            }
+        }
+        return low;
+    }
+
+    private void quickSort(double[] array, int low, int high, SortingMetrics metrics) {
+        metrics.incrementComparisons(); // Comparacao: low < high
+        if (low < high) {
+            // Se o subarray e pequeno, usa Insertion Sort
+            int subarraySize = high - low + 1;
+            metrics.incrementComparisons(); // Comparacao: subarraySize <= threshold
+            if (subarraySize <= threshold) {
+                insertionSort(array, low, high, metrics);
+            } else {
+                // Usa mediana-de-tres para escolher o pivo
+                int medianIndex = medianOfThree(array, low, high, metrics);
+                swap(array, medianIndex, high, metrics); // Move o pivo para o final
+
+                int partitionIndex = partition(array, low, high, metrics);
+                quickSort(array, low, partitionIndex - 1, metrics);
+                quickSort(array, partitionIndex + 1, high, metrics);
+            }
+        }
+    }
+
+    /**
+     * Encontra a mediana de tres elementos (primeiro, meio e ultimo)
+     * e retorna o indice do elemento mediano
+     */
+    private int medianOfThree(double[] array, int low, int high, SortingMetrics metrics) {
+        int midIndex = low + (high - low) / 2;
+
+        metrics.incrementComparisons(); // Comparacao: array[low] > array[midIndex]
+        if (array[low] > array[midIndex]) {
+            swap(array, low, midIndex, metrics);
+        }
+
+        metrics.incrementComparisons(); // Comparacao: array[midIndex] > array[high]
+        if (array[midIndex] > array[high]) {
+            swap(array, midIndex, high, metrics);
+        }
+
+        metrics.incrementComparisons(); // Comparacao: array[low] > array[midIndex]
+        if (array[low] > array[midIndex]) {
+            swap(array, low, midIndex, metrics);
+        }
+
+        return midIndex; // O elemento do meio e a mediana
+    }
+
+    private int partition(double[] array, int low, int high, SortingMetrics metrics) {
+        double pivotValue = array[high];
+        int partitionIndex = low - 1;
+
+        for (int currentIndex = low; currentIndex < high; currentIndex++) {
+            metrics.incrementComparisons(); // Comparacao: array[currentIndex] <= pivotValue
+            if (array[currentIndex] <= pivotValue) {
+                partitionIndex++;
+                swap(array, partitionIndex, currentIndex, metrics);
+            }
+        }
+        swap(array, partitionIndex + 1, high, metrics);
+        return partitionIndex + 1;
+    }
+
+    private void insertionSort(double[] array, int low, int high, SortingMetrics metrics) {
+        for (int currentIndex = low + 1; currentIndex <= high; currentIndex++) {
+            double valueToInsert = array[currentIndex];
+            int comparisonIndex = currentIndex - 1;
+
+            while (comparisonIndex >= low) {
+                metrics.incrementComparisons(); // Comparacao: array[comparisonIndex] > valueToInsert
+                if (array[comparisonIndex] > valueToInsert) {
+                    array[comparisonIndex + 1] = array[comparisonIndex];
+                    metrics.incrementSwaps(); // Movimento/troca
+                    comparisonIndex--;
+                } else {
+                    break;
+                }
+            }
+
+            int insertionPosition = comparisonIndex + 1;
+            if (insertionPosition != currentIndex) {
+                array[insertionPosition] = valueToInsert;
+                metrics.incrementSwaps(); // Insercao do valueToInsert na posicao correta
+            }
+        }
+    }
+
+    private void swap(double[] array, int firstIndex, int secondIndex, SortingMetrics metrics) {
+        if (firstIndex != secondIndex) { // So conta como troca se as posicoes forem diferentes
+            metrics.incrementSwaps();
+            double tempValue = array[firstIndex];
+            array[firstIndex] = array[secondIndex];
+            array[secondIndex] = tempValue;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Quicksort Hibrido double[] (M=" + threshold + ", Mediana-de-3)";
+    }
+}
@@ -0,0 +1,122 @@
+package paa.sort.domain.algorithms;
+
+import paa.sort.domain.SortingAlgorithm;
+import paa.sort.domain.algorithms.basecase.BaseCaseSort;
+import paa.sort.domain.algorithms.basecase.InsertionSortBaseCase;
+import paa.sort.domain.performance.SortingMetrics;
+
+import java.util.Objects;
+
+/**
+ * Implementacao do Quicksort com dois pivos (esquema de Yaroslavskiy).
+ * Cada particionamento divide o subarray em tres partes (menores que P,
+ * entre P e Q, maiores que Q) e usa Insertion Sort para subarrays pequenos,
+ * com o mesmo threshold do Quicksort hibrido.
+ */
+public class DualPivotQuickSort implements SortingAlgorithm {
+    private final int threshold;
+    private final BaseCaseSort baseCase;
+
+    public DualPivotQuickSort(int threshold) {
+        this(threshold, new InsertionSortBaseCase());
+    }
+
+    public DualPivotQuickSort(int threshold, BaseCaseSort baseCase) {
+        this.threshold = threshold;
+        this.baseCase = baseCase;
+    }
+
+    @Override
+    public void sort(int[] array, int fromIndex, int toIndex, SortingMetrics metrics) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        quickSort(array, fromIndex, toIndex - 1, metrics);
+    }
+
+    private void quickSort(int[] array, int low, int high, SortingMetrics metrics) {
+        metrics.incrementComparisons(); // Comparacao: low < high
+        if (low < high) {
+            // Se o subarray e pequeno, usa o caso base (Insertion Sort por padrao)
+            int subarraySize = high - low + 1;
+            metrics.incrementComparisons(); // Comparacao: subarraySize <= threshold
+            if (subarraySize <= threshold) {
+                baseCase.sort(array, low, high, metrics);
+            } else {
+                choosePivots(array, low, high, subarraySize, metrics);
+
+                int leftPivotValue = array[low];
+                int rightPivotValue = array[high];
+                int lessIndex = low + 1;      // array[low+1 .. lessIndex-1] < P
+                int greaterIndex = high - 1;  // array[greaterIndex+1 .. high-1] > Q
+                int currentIndex = lessIndex;
+
+                while (currentIndex <= greaterIndex) {
+                    metrics.incrementComparisons(); // Comparacao: array[currentIndex] < P
+                    if (array[currentIndex] < leftPivotValue) {
+                        swap(array, currentIndex, lessIndex, metrics);
+                        lessIndex++;
+                    } else {
+                        metrics.incrementComparisons(); // Comparacao: array[currentIndex] > Q
+                        if (array[currentIndex] > rightPivotValue) {
+                            while (currentIndex < greaterIndex && array[greaterIndex] > rightPivotValue) {
+                                metrics.incrementComparisons(); // Comparacao: array[greaterIndex] > Q
+                                greaterIndex--;
+                            }
+                            swap(array, currentIndex, greaterIndex, metrics);
+                            greaterIndex--;
+
+                            metrics.incrementComparisons(); // Comparacao: array[currentIndex] < P
+                            if (array[currentIndex] < leftPivotValue) {
+                                swap(array, currentIndex, lessIndex, metrics);
+                                lessIndex++;
+                            }
+                        }
+                    }
+                    currentIndex++;
+                }
+
+                // Move os pivos para suas posicoes finais
+                lessIndex--;
+                greaterIndex++;
+                swap(array, low, lessIndex, metrics);
+                swap(array, high, greaterIndex, metrics);
+
+                quickSort(array, low, lessIndex - 1, metrics);
+                metrics.incrementComparisons(); // Comparacao: P < Q
+                if (leftPivotValue < rightPivotValue) {
+                    // Se P == Q a parte central contem apenas elementos iguais
+                    quickSort(array, lessIndex + 1, greaterIndex - 1, metrics);
+                }
+                quickSort(array, greaterIndex + 1, high, metrics);
+            }
+        }
+    }
+
+    /**
+     * Escolhe os pivos nos tercos do subarray e os posiciona nas extremidades,
+     * garantindo array[low] <= array[high]. Evita o pior caso em dados ordenados.
+     */
+    private void choosePivots(int[] array, int low, int high, int subarraySize, SortingMetrics metrics) {
+        int third = subarraySize / 3;
+        swap(array, low, low + third, metrics);
+        swap(array, high, high - third, metrics);
+
+        metrics.incrementComparisons(); // Comparacao: array[low] > array[high]
+        if (array[low] > array[high]) {
+            swap(array, low, high, metrics);
+        }
+    }
+
+    private void swap(int[] array, int firstIndex, int secondIndex, SortingMetrics metrics) {
+        if (firstIndex != secondIndex) { // So conta como troca se as posicoes forem diferentes
+            metrics.incrementSwaps();
+            int tempValue = array[firstIndex];
+            array[firstIndex] = array[secondIndex];
+            array[secondIndex] = tempValue;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Quicksort Dual-Pivot (M=" + threshold + baseCase.getNameSuffix() + ")";
+    }
+}
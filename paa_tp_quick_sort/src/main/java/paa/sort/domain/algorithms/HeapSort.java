@@ -0,0 +1,88 @@
+package paa.sort.domain.algorithms;
+
+import paa.sort.domain.performance.NoOpSortingMetrics;
+import paa.sort.domain.performance.SortingMetrics;
+
+/**
+ * Implementacao do Heapsort in-place para uso como fallback do Introsort
+ */
+public class HeapSort {
+
+    /**
+     * Ordena um subarray usando Heapsort
+     * @param array Array a ser ordenado
+     * @param low Indice inicial
+     * @param high Indice final
+     */
+    public static void sort(int[] array, int low, int high) {
+        sort(array, low, high, NoOpSortingMetrics.INSTANCE);
+    }
+
+    /**
+     * Ordena um subarray usando Heapsort com metricas
+     * @param array Array a ser ordenado
+     * @param low Indice inicial
+     * @param high Indice final
+     * @param metrics Objeto para coletar metricas
+     */
+    public static void sort(int[] array, int low, int high, SortingMetrics metrics) {
+        int heapSize = high - low + 1;
+
+        // Constroi o heap maximo a partir do ultimo no interno
+        for (int rootIndex = heapSize / 2 - 1; rootIndex >= 0; rootIndex--) {
+            siftDown(array, low, rootIndex, heapSize, metrics);
+        }
+
+        // Move o maior elemento para o final e restaura o heap no restante
+        for (int lastIndex = heapSize - 1; lastIndex > 0; lastIndex--) {
+            swap(array, low, low + lastIndex, metrics);
+            siftDown(array, low, 0, lastIndex, metrics);
+        }
+    }
+
+    /**
+     * Desce o elemento da posicao rootIndex (relativa a offset) ate restaurar a
+     * propriedade de heap maximo em array[offset .. offset+heapSize-1]
+     */
+    private static void siftDown(int[] array, int offset, int rootIndex, int heapSize, SortingMetrics metrics) {
+        int valueToSift = array[offset + rootIndex];
+        int currentIndex = rootIndex;
+
+        while (true) {
+            int childIndex = 2 * currentIndex + 1;
+            if (childIndex >= heapSize) {
+                break;
+            }
+
+            if (childIndex + 1 < heapSize) {
+                metrics.incrementComparisons(); // Comparacao: filho esquerdo < filho direito
+                if (array[offset + childIndex] < array[offset + childIndex + 1]) {
+                    childIndex++;
+                }
+            }
+
+            metrics.incrementComparisons(); // Comparacao: valueToSift >= maior filho
+            if (valueToSift >= array[offset + childIndex]) {
+                break;
+            }
+
+            array[offset + currentIndex] = array[offset + childIndex];
+            metrics.incrementSwaps(); // Movimento do filho para cima
+            currentIndex = childIndex;
+        }
+
+        if (currentIndex != rootIndex) {
+            array[offset + currentIndex] = valueToSift;
+            metrics.incrementSwaps(); // Insercao do valueToSift na posicao correta
+        }
+    }
+
+    private static void swap(int[] array, int firstIndex, int secondIndex, SortingMetrics metrics) {
+        if (firstIndex != secondIndex) { // So conta como troca se as posicoes forem diferentes
+            metrics.incrementSwaps();
+            int tempValue = array[firstIndex];
+            array[firstIndex] = array[secondIndex];
+            array[secondIndex] = tempValue;
+        }
+    }
+}
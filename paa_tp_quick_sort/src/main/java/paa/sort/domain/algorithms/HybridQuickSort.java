@@ -1,41 +1,59 @@
 package paa.sort.domain.algorithms;
 
 import paa.sort.domain.SortingAlgorithm;
+import paa.sort.domain.algorithms.basecase.BaseCaseSort;
+import paa.sort.domain.algorithms.basecase.InsertionSortBaseCase;
+import paa.sort.domain.algorithms.pivot.LastElementPivot;
+import paa.sort.domain.algorithms.pivot.PivotStrategy;
 import paa.sort.domain.performance.SortingMetrics;
 
+import java.util.Objects;
+
 /**
- * Implementacao do Quicksort hibrido que usa Insertion Sort para subarrays pequenos
+ * Implementacao do Quicksort hibrido que usa Insertion Sort (ou outro BaseCaseSort)
+ * para subarrays pequenos. O pivo e o ultimo elemento, a menos que outra
+ * PivotStrategy seja informada.
  */
 public class HybridQuickSort implements SortingAlgorithm {
     private final int threshold;
+    private final PivotStrategy pivotStrategy;
+    private final BaseCaseSort baseCase;
 
     public HybridQuickSort(int threshold) {
-        this.threshold = threshold;
+        this(threshold, new LastElementPivot(), new InsertionSortBaseCase());
     }
 
-    @Override
-    public int[] sort(int[] array) {
-        return sort(array, new SortingMetrics());
+    public HybridQuickSort(int threshold, BaseCaseSort baseCase) {
+        this(threshold, new LastElementPivot(), baseCase);
+    }
+
+    public HybridQuickSort(int threshold, PivotStrategy pivotStrategy) {
+        this(threshold, pivotStrategy, new InsertionSortBaseCase());
+    }
+
+    public HybridQuickSort(int threshold, PivotStrategy pivotStrategy, BaseCaseSort baseCase) {
+        this.threshold = threshold;
+        this.pivotStrategy = pivotStrategy;
+        this.baseCase = baseCase;
     }
 
     @Override
-    public int[] sort(int[] array, SortingMetrics metrics) {
-        if (array == null || array.length <= 1) {
-            return array;
-        }
-        int[] sortedArray = array.clone();
-        quickSort(sortedArray, 0, sortedArray.length - 1, metrics);
-        return sortedArray;
+    public void sort(int[] array, int fromIndex, int toIndex, SortingMetrics metrics) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        quickSort(array, fromIndex, toIndex - 1, metrics);
     }
 
-    private void quickSort(int[] array, int low, int high, SortingMetrics metrics) {
+    /**
+     * Caminho sequencial do algoritmo, reaproveitado pela versao paralela abaixo do corte
+     */
+    void quickSort(int[] array, int low, int high, SortingMetrics metrics) {
         metrics.incrementComparisons(); // Comparacao: low < high
         if (low < high) {
-            // Se o subarray e pequeno, usa Insertion Sort
+            // Se o subarray e pequeno, usa o caso base (Insertion Sort por padrao)
             int subarraySize = high - low + 1;
             metrics.incrementComparisons(); // Comparacao: subarraySize <= threshold
             if (subarraySize <= threshold) {
-                InsertionSort.sort(array, low, high, metrics);
+                baseCase.sort(array, low, high, metrics);
             } else {
                 int pivotIndex = partition(array, low, high, metrics);
                 quickSort(array, low, pivotIndex - 1, metrics);
@@ -44,7 +62,10 @@ public class HybridQuickSort implements SortingAlgorithm {
         }
     }
 
-    private int partition(int[] array, int low, int high, SortingMetrics metrics) {
+    int partition(int[] array, int low, int high, SortingMetrics metrics) {
+        int selectedIndex = pivotStrategy.selectPivotIndex(array, low, high, metrics);
+        swap(array, selectedIndex, high, metrics); // Move o pivo para o final
+
         int pivotValue = array[high]; // Ultimo elemento como pivo
         int partitionIndex = low - 1;
 
@@ -70,6 +91,8 @@ public class HybridQuickSort implements SortingAlgorithm {
 
     @Override
     public String getName() {
-        return "Quicksort Hibrido (M=" + threshold + ")";
+        // O pivo padrao fica fora do nome para manter os nomes ja usados nos relatorios
+        String pivotName = pivotStrategy instanceof LastElementPivot ? "" : ", " + pivotStrategy.getName();
+        return "Quicksort Hibrido (M=" + threshold + pivotName + baseCase.getNameSuffix() + ")";
     }
 }
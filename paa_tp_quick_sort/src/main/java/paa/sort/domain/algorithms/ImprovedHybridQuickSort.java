@@ -1,45 +1,59 @@
 package paa.sort.domain.algorithms;
 
 import paa.sort.domain.SortingAlgorithm;
+import paa.sort.domain.algorithms.basecase.BaseCaseSort;
+import paa.sort.domain.algorithms.basecase.InsertionSortBaseCase;
+import paa.sort.domain.algorithms.pivot.MedianOfThreePivot;
+import paa.sort.domain.algorithms.pivot.PivotStrategy;
 import paa.sort.domain.performance.SortingMetrics;
 
+import java.util.Objects;
+
 /**
- * Implementacao do Quicksort hibrido melhorado com mediana-de-tres para escolha do pivo
+ * Implementacao do Quicksort hibrido melhorado com mediana-de-tres para escolha do pivo.
+ * A escolha pode ser trocada por outra PivotStrategy (ninther, mediana-de-k, aleatorio).
  */
 public class ImprovedHybridQuickSort implements SortingAlgorithm {
     private final int threshold;
+    private final PivotStrategy pivotStrategy;
+    private final BaseCaseSort baseCase;
 
     public ImprovedHybridQuickSort(int threshold) {
-        this.threshold = threshold;
+        this(threshold, new MedianOfThreePivot(), new InsertionSortBaseCase());
     }
 
-    @Override
-    public int[] sort(int[] array) {
-        return sort(array, new SortingMetrics());
+    public ImprovedHybridQuickSort(int threshold, BaseCaseSort baseCase) {
+        this(threshold, new MedianOfThreePivot(), baseCase);
+    }
+
+    public ImprovedHybridQuickSort(int threshold, PivotStrategy pivotStrategy) {
+        this(threshold, pivotStrategy, new InsertionSortBaseCase());
+    }
+
+    public ImprovedHybridQuickSort(int threshold, PivotStrategy pivotStrategy, BaseCaseSort baseCase) {
+        this.threshold = threshold;
+        this.pivotStrategy = pivotStrategy;
+        this.baseCase = baseCase;
     }
 
     @Override
-    public int[] sort(int[] array, SortingMetrics metrics) {
-        if (array == null || array.length <= 1) {
-            return array;
-        }
-        int[] sortedArray = array.clone();
-        quickSort(sortedArray, 0, sortedArray.length - 1, metrics);
-        return sortedArray;
+    public void sort(int[] array, int fromIndex, int toIndex, SortingMetrics metrics) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        quickSort(array, fromIndex, toIndex - 1, metrics);
     }
 
     private void quickSort(int[] array, int low, int high, SortingMetrics metrics) {
         metrics.incrementComparisons(); // Comparacao: low < high
         if (low < high) {
-            // Se o subarray e pequeno, usa Insertion Sort
+            // Se o subarray e pequeno, usa o caso base (Insertion Sort por padrao)
             int subarraySize = high - low + 1;
             metrics.incrementComparisons(); // Comparacao: subarraySize <= threshold
             if (subarraySize <= threshold) {
-                InsertionSort.sort(array, low, high, metrics);
+                baseCase.sort(array, low, high, metrics);
             } else {
-                // Usa mediana-de-tres para escolher o pivo
-                int medianIndex = medianOfThree(array, low, high, metrics);
-                swap(array, medianIndex, high, metrics); // Move o pivo para o final
+                // Usa mediana-de-tres (ou a estrategia configurada) para escolher o pivo
+                int pivotIndex = pivotStrategy.selectPivotIndex(array, low, high, metrics);
+                swap(array, pivotIndex, high, metrics); // Move o pivo para o final
 
                 int partitionIndex = partition(array, low, high, metrics);
                 quickSort(array, low, partitionIndex - 1, metrics);
@@ -48,31 +62,6 @@ public class ImprovedHybridQuickSort implements SortingAlgorithm {
         }
     }
 
-    /**
-     * Encontra a mediana de tres elementos (primeiro, meio e ultimo)
-     * e retorna o indice do elemento mediano
-     */
-    private int medianOfThree(int[] array, int low, int high, SortingMetrics metrics) {
-        int midIndex = low + (high - low) / 2;
-
-        metrics.incrementComparisons(); // Comparacao: array[low] > array[midIndex]
-        if (array[low] > array[midIndex]) {
-            swap(array, low, midIndex, metrics);
-        }
-
-        metrics.incrementComparisons(); // Comparacao: array[midIndex] > array[high]
-        if (array[midIndex] > array[high]) {
-            swap(array, midIndex, high, metrics);
-        }
-
-        metrics.incrementComparisons(); // Comparacao: array[low] > array[midIndex]
-        if (array[low] > array[midIndex]) {
-            swap(array, low, midIndex, metrics);
-        }
-
-        return midIndex; // O elemento do meio e a mediana
-    }
-
     private int partition(int[] array, int low, int high, SortingMetrics metrics) {
         int pivotValue = array[high];
         int partitionIndex = low - 1;
@@ -99,6 +88,6 @@ public class ImprovedHybridQuickSort implements SortingAlgorithm {
 
     @Override
     public String getName() {
-        return "Quicksort Hibrido Melhorado (M=" + threshold + ", Mediana-de-3)";
+        return "Quicksort Hibrido Melhorado (M=" + threshold + ", " + pivotStrategy.getName() + baseCase.getNameSuffix() + ")";
     }
 }
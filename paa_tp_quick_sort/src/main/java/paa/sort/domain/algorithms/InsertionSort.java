@@ -1,5 +1,6 @@
 package paa.sort.domain.algorithms;
 
+import paa.sort.domain.performance.NoOpSortingMetrics;
 import paa.sort.domain.performance.SortingMetrics;
 
 /**
@@ -14,7 +15,7 @@ public class InsertionSort {
      * @param high Indice final
      */
     public static void sort(int[] array, int low, int high) {
-        sort(array, low, high, new SortingMetrics());
+        sort(array, low, high, NoOpSortingMetrics.INSTANCE);
     }
 
     /**
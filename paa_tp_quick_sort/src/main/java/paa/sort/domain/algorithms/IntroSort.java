@@ -0,0 +1,117 @@
+package paa.sort.domain.algorithms;
+
+import paa.sort.domain.SortingAlgorithm;
+import paa.sort.domain.algorithms.basecase.BaseCaseSort;
+import paa.sort.domain.algorithms.basecase.InsertionSortBaseCase;
+import paa.sort.domain.performance.SortingMetrics;
+
+import java.util.Objects;
+
+/**
+ * Implementacao do Introsort: Quicksort hibrido com mediana-de-tres que
+ * acompanha a profundidade da recursao e troca para Heapsort quando ela passa
+ * de 2*log2(n), garantindo O(n log n) no pior caso.
+ */
+public class IntroSort implements SortingAlgorithm {
+    private final int threshold;
+    private final BaseCaseSort baseCase;
+
+    public IntroSort(int threshold) {
+        this(threshold, new InsertionSortBaseCase());
+    }
+
+    public IntroSort(int threshold, BaseCaseSort baseCase) {
+        this.threshold = threshold;
+        this.baseCase = baseCase;
+    }
+
+    @Override
+    public void sort(int[] array, int fromIndex, int toIndex, SortingMetrics metrics) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        quickSort(array, fromIndex, toIndex - 1, depthLimit(toIndex - fromIndex), metrics);
+    }
+
+    /**
+     * Calcula o limite de profundidade 2*floor(log2(n))
+     */
+    static int depthLimit(int arraySize) {
+        return 2 * (31 - Integer.numberOfLeadingZeros(arraySize));
+    }
+
+    private void quickSort(int[] array, int low, int high, int remainingDepth, SortingMetrics metrics) {
+        metrics.incrementComparisons(); // Comparacao: low < high
+        if (low < high) {
+            // Se o subarray e pequeno, usa o caso base (Insertion Sort por padrao)
+            int subarraySize = high - low + 1;
+            metrics.incrementComparisons(); // Comparacao: subarraySize <= threshold
+            if (subarraySize <= threshold) {
+                baseCase.sort(array, low, high, metrics);
+            } else if (remainingDepth == 0) {
+                // Particionamentos ruins demais: garante O(n log n) com Heapsort
+                HeapSort.sort(array, low, high, metrics);
+            } else {
+                // Usa mediana-de-tres para escolher o pivo
+                int medianIndex = medianOfThree(array, low, high, metrics);
+                swap(array, medianIndex, high, metrics); // Move o pivo para o final
+
+                int partitionIndex = partition(array, low, high, metrics);
+                quickSort(array, low, partitionIndex - 1, remainingDepth - 1, metrics);
+                quickSort(array, partitionIndex + 1, high, remainingDepth - 1, metrics);
+            }
+        }
+    }
+
+    /**
+     * Encontra a mediana de tres elementos (primeiro, meio e ultimo)
+     * e retorna o indice do elemento mediano
+     */
+    private int medianOfThree(int[] array, int low, int high, SortingMetrics metrics) {
+        int midIndex = low + (high - low) / 2;
+
+        metrics.incrementComparisons(); // Comparacao: array[low] > array[midIndex]
+        if (array[low] > array[midIndex]) {
+            swap(array, low, midIndex, metrics);
+        }
+
+        metrics.incrementComparisons(); // Comparacao: array[midIndex] > array[high]
+        if (array[midIndex] > array[high]) {
+            swap(array, midIndex, high, metrics);
+        }
+
+        metrics.incrementComparisons(); // Comparacao: array[low] > array[midIndex]
+        if (array[low] > array[midIndex]) {
+            swap(array, low, midIndex, metrics);
+        }
+
+        return midIndex; // O elemento do meio e a mediana
+    }
+
+    private int partition(int[] array, int low, int high, SortingMetrics metrics) {
+        int pivotValue = array[high];
+        int partitionIndex = low - 1;
+
+        for (int currentIndex = low; currentIndex < high; currentIndex++) {
+            metrics.incrementComparisons(); // Comparacao: array[currentIndex] <= pivotValue
+            if (array[currentIndex] <= pivotValue) {
+                partitionIndex++;
+                swap(array, partitionIndex, currentIndex, metrics);
+            }
+        }
+        swap(array, partitionIndex + 1, high, metrics);
+        return partitionIndex + 1;
+    }
+
+    private void swap(int[] array, int firstIndex, int secondIndex, SortingMetrics metrics) {
+        if (firstIndex != secondIndex) { // So conta como troca se as posicoes forem diferentes
+            metrics.incrementSwaps();
+            int tempValue = array[firstIndex];
+            array[firstIndex] = array[secondIndex];
+            array[secondIndex] = tempValue;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Introsort (M=" + threshold + ", Heapsort apos 2*log2(n)" + baseCase.getNameSuffix() + ")";
+    }
+}
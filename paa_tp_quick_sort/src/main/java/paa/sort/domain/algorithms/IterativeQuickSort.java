@@ -0,0 +1,116 @@
+package paa.sort.domain.algorithms;
+
+import paa.sort.domain.SortingAlgorithm;
+import paa.sort.domain.algorithms.basecase.BaseCaseSort;
+import paa.sort.domain.algorithms.basecase.InsertionSortBaseCase;
+import paa.sort.domain.algorithms.pivot.MedianOfThreePivot;
+import paa.sort.domain.algorithms.pivot.PivotStrategy;
+import paa.sort.domain.performance.SortingMetrics;
+
+import java.util.Objects;
+
+/**
+ * Implementacao iterativa do Quicksort hibrido com pilha explicita de inteiros.
+ * O subarray menor e sempre processado primeiro e o maior e empilhado, o que
+ * limita a pilha a O(log n) entradas independentemente da estrategia de pivo.
+ */
+public class IterativeQuickSort implements SortingAlgorithm {
+    // Cada particionamento empilha no maximo um intervalo com mais que o dobro
+    // do tamanho do atual, entao a pilha nunca passa de log2(n) + 1 intervalos
+    private static final int MAX_STACK_RANGES = Integer.SIZE + 1;
+
+    private final int threshold;
+    private final PivotStrategy pivotStrategy;
+    private final BaseCaseSort baseCase;
+
+    public IterativeQuickSort(int threshold) {
+        this(threshold, new MedianOfThreePivot());
+    }
+
+    public IterativeQuickSort(int threshold, PivotStrategy pivotStrategy) {
+        this(threshold, pivotStrategy, new InsertionSortBaseCase());
+    }
+
+    public IterativeQuickSort(int threshold, PivotStrategy pivotStrategy, BaseCaseSort baseCase) {
+        this.threshold = threshold;
+        this.pivotStrategy = pivotStrategy;
+        this.baseCase = baseCase;
+    }
+
+    @Override
+    public void sort(int[] array, int fromIndex, int toIndex, SortingMetrics metrics) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        quickSort(array, fromIndex, toIndex - 1, metrics);
+    }
+
+    private void quickSort(int[] array, int low, int high, SortingMetrics metrics) {
+        int[] rangeStack = new int[2 * MAX_STACK_RANGES];
+        int stackSize = 0;
+
+        rangeStack[stackSize++] = low;
+        rangeStack[stackSize++] = high;
+
+        while (stackSize > 0) {
+            int currentHigh = rangeStack[--stackSize];
+            int currentLow = rangeStack[--stackSize];
+
+            // Particiona ate o subarray ficar pequeno, seguindo sempre pelo lado menor
+            while (true) {
+                metrics.incrementComparisons(); // Comparacao: low < high
+                if (currentLow >= currentHigh) {
+                    break;
+                }
+
+                int subarraySize = currentHigh - currentLow + 1;
+                metrics.incrementComparisons(); // Comparacao: subarraySize <= threshold
+                if (subarraySize <= threshold) {
+                    baseCase.sort(array, currentLow, currentHigh, metrics);
+                    break;
+                }
+
+                int pivotIndex = pivotStrategy.selectPivotIndex(array, currentLow, currentHigh, metrics);
+                swap(array, pivotIndex, currentHigh, metrics); // Move o pivo para o final
+                int partitionIndex = partition(array, currentLow, currentHigh, metrics);
+
+                if (partitionIndex - currentLow < currentHigh - partitionIndex) {
+                    rangeStack[stackSize++] = partitionIndex + 1;
+                    rangeStack[stackSize++] = currentHigh;
+                    currentHigh = partitionIndex - 1;
+                } else {
+                    rangeStack[stackSize++] = currentLow;
+                    rangeStack[stackSize++] = partitionIndex - 1;
+                    currentLow = partitionIndex + 1;
+                }
+            }
+        }
+    }
+
+    private int partition(int[] array, int low, int high, SortingMetrics metrics) {
+        int pivotValue = array[high];
+        int partitionIndex = low - 1;
+
+        for (int currentIndex = low; currentIndex < high; currentIndex++) {
+            metrics.incrementComparisons(); // Comparacao: array[currentIndex] <= pivotValue
+            if (array[currentIndex] <= pivotValue) {
+                partitionIndex++;
+                swap(array, partitionIndex, currentIndex, metrics);
+            }
+        }
+        swap(array, partitionIndex + 1, high, metrics);
+        return partitionIndex + 1;
+    }
+
+    private void swap(int[] array, int firstIndex, int secondIndex, SortingMetrics metrics) {
+        if (firstIndex != secondIndex) { // So conta como troca se as posicoes forem diferentes
+            metrics.incrementSwaps();
+            int tempValue = array[firstIndex];
+            array[firstIndex] = array[secondIndex];
+            array[secondIndex] = tempValue;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Quicksort Iterativo (M=" + threshold + ", " + pivotStrategy.getName() + baseCase.getNameSuffix() + ")";
+    }
+}
@@ -0,0 +1,227 @@
+package paa.sort.domain.algorithms;
+
+import paa.sort.domain.performance.NoOpSortingMetrics;
+import paa.sort.domain.performance.SortingMetrics;
+
+import java.util.Objects;
+
+/**
+ * Quicksort hibrido que ordena um array de chaves int[] levando junto um array
+ * paralelo de payload (por exemplo indices de registros): toda troca feita nas
+ * chaves e repetida no payload. Permite ordenar registros por uma chave inteira
+ * sem criar objetos nem usar Comparator.
+ *
+ * Usa o particionamento em tres vias de ThreeWayQuickSort, com pivo pela
+ * mediana-de-tres, para que chaves repetidas nao degradem o desempenho. A
+ * ordenacao nao e estavel: payloads com a mesma chave podem mudar de ordem.
+ */
+public class KeyPayloadQuickSort {
+    private final int threshold;
+
+    public KeyPayloadQuickSort(int threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * Ordena as chaves in-place aplicando as mesmas trocas ao payload
+     * @param keys Chaves a serem ordenadas
+     * @param payload Valores associados, com o mesmo tamanho das chaves
+     */
+    public void sort(int[] keys, int[] payload) {
+        sort(keys, payload, 0, keys.length, NoOpSortingMetrics.INSTANCE);
+    }
+
+    /**
+     * Ordena in-place o intervalo keys[fromIndex..toIndex-1] aplicando as
+     * mesmas trocas ao intervalo correspondente do payload
+     * @param keys Chaves a serem ordenadas
+     * @param payload Valores associados, com o mesmo tamanho das chaves
+     * @param fromIndex Indice inicial (inclusivo)
+     * @param toIndex Indice final (exclusivo)
+     * @param metrics Objeto para coletar metricas de comparacoes e trocas
+     * @throws IllegalArgumentException se os arrays tiverem tamanhos diferentes
+     * @throws IndexOutOfBoundsException se o intervalo for invalido
+     */
+    public void sort(int[] keys, int[] payload, int fromIndex, int toIndex, SortingMetrics metrics) {
+        if (keys.length != payload.length) {
+            throw new IllegalArgumentException("Chaves (" + keys.length + ") e payload (" + payload.length
+                    + ") devem ter o mesmo tamanho");
+        }
+        Objects.checkFromToIndex(fromIndex, toIndex, keys.length);
+        quickSort(keys, payload, fromIndex, toIndex - 1, metrics);
+    }
+
+    /**
+     * Retorna a permutacao que ordena as chaves, sem altera-las:
+     * keys[permutation[0]] <= keys[permutation[1]] <= ...
+     * @param keys Chaves a serem ordenadas
+     * @return Indices das chaves em ordem crescente de chave
+     */
+    public int[] argsort(int[] keys) {
+        return argsort(keys, NoOpSortingMetrics.INSTANCE);
+    }
+
+    /**
+     * Retorna a permutacao que ordena as chaves coletando metricas
+     * @param keys Chaves a serem ordenadas
+     * @param metrics Objeto para coletar metricas de comparacoes e trocas
+     * @return Indices das chaves em ordem crescente de chave
+     */
+    public int[] argsort(int[] keys, SortingMetrics metrics) {
+        int[] sortedKeys = keys.clone();
+        int[] permutation = new int[keys.length];
+        for (int index = 0; index < permutation.length; index++) {
+            permutation[index] = index;
+        }
+        quickSort(sortedKeys, permutation, 0, keys.length - 1, metrics);
+        return permutation;
+    }
+
+    private void quickSort(int[] keys, int[] payload, int low, int high, SortingMetrics metrics) {
+        metrics.incrementComparisons(); // Comparacao: low < high
+        if (low < high) {
+            // Se o subarray e pequeno, usa Insertion Sort
+            int subarraySize = high - low + 1;
+            metrics.incrementComparisons(); // Comparacao: subarraySize <= threshold
+            if (subarraySize <= threshold) {
+                insertionSort(keys, payload, low, high, metrics);
+            } else {
+                // Usa mediana-de-tres e move o pivo para o inicio
+                int medianIndex = medianOfThree(keys, payload, low, high, metrics);
+                swap(keys, payload, low, medianIndex, metrics);
+
+                int[] equalRange = partition(keys, payload, low, high, metrics);
+                quickSort(keys, payload, low, equalRange[0] - 1, metrics);
+                quickSort(keys, payload, equalRange[1] + 1, high, metrics);
+            }
+        }
+    }
+
+    /**
+     * Particionamento de Bentley-McIlroy com pivo em keys[low], identico ao de
+     * ThreeWayQuickSort mas trocando tambem o payload
+     *
+     * @return Intervalo [inicio, fim] ocupado pelas chaves iguais ao pivo
+     */
+    private int[] partition(int[] keys, int[] payload, int low, int high, SortingMetrics metrics) {
+        int pivotValue = keys[low];
+        int leftIndex = low;
+        int rightIndex = high + 1;
+        int leftEqualEnd = low;       // keys[low .. leftEqualEnd] == pivo
+        int rightEqualStart = high + 1; // keys[rightEqualStart .. high] == pivo
+
+        while (true) {
+            while (less(keys[++leftIndex], pivotValue, metrics)) {
+                if (leftIndex == high) {
+                    break;
+                }
+            }
+            while (less(pivotValue, keys[--rightIndex], metrics)) {
+                if (rightIndex == low) {
+                    break;
+                }
+            }
+
+            // Ponteiros se encontraram em uma chave igual ao pivo
+            if (leftIndex == rightIndex && equal(keys[leftIndex], pivotValue, metrics)) {
+                swap(keys, payload, ++leftEqualEnd, leftIndex, metrics);
+            }
+            if (leftIndex >= rightIndex) {
+                break;
+            }
+
+            swap(keys, payload, leftIndex, rightIndex, metrics);
+            if (equal(keys[leftIndex], pivotValue, metrics)) {
+                swap(keys, payload, ++leftEqualEnd, leftIndex, metrics);
+            }
+            if (equal(keys[rightIndex], pivotValue, metrics)) {
+                swap(keys, payload, --rightEqualStart, rightIndex, metrics);
+            }
+        }
+
+        // Traz as chaves iguais das extremidades para o centro
+        leftIndex = rightIndex + 1;
+        for (int equalIndex = low; equalIndex <= leftEqualEnd; equalIndex++) {
+            swap(keys, payload, equalIndex, rightIndex--, metrics);
+        }
+        for (int equalIndex = high; equalIndex >= rightEqualStart; equalIndex--) {
+            swap(keys, payload, equalIndex, leftIndex++, metrics);
+        }
+
+        return new int[] { rightIndex + 1, leftIndex - 1 };
+    }
+
+    /**
+     * Encontra a mediana de tres chaves (primeira, meio e ultima)
+     * e retorna o indice da chave mediana
+     */
+    private int medianOfThree(int[] keys, int[] payload, int low, int high, SortingMetrics metrics) {
+        int midIndex = low + (high - low) / 2;
+
+        if (less(keys[midIndex], keys[low], metrics)) {
+            swap(keys, payload, low, midIndex, metrics);
+        }
+        if (less(keys[high], keys[midIndex], metrics)) {
+            swap(keys, payload, midIndex, high, metrics);
+        }
+        if (less(keys[midIndex], keys[low], metrics)) {
+            swap(keys, payload, low, midIndex, metrics);
+        }
+
+        return midIndex;
+    }
+
+    private void insertionSort(int[] keys, int[] payload, int low, int high, SortingMetrics metrics) {
+        for (int currentIndex = low + 1; currentIndex <= high; currentIndex++) {
+            int keyToInsert = keys[currentIndex];
+            int payloadToInsert = payload[currentIndex];
+            int comparisonIndex = currentIndex - 1;
+
+            while (comparisonIndex >= low) {
+                metrics.incrementComparisons(); // Comparacao: keys[comparisonIndex] > keyToInsert
+                if (keys[comparisonIndex] > keyToInsert) {
+                    keys[comparisonIndex + 1] = keys[comparisonIndex];
+                    payload[comparisonIndex + 1] = payload[comparisonIndex];
+                    metrics.incrementSwaps(); // Movimento/troca
+                    comparisonIndex--;
+                } else {
+                    break;
+                }
+            }
+
+            int insertionPosition = comparisonIndex + 1;
+            if (insertionPosition != currentIndex) {
+                keys[insertionPosition] = keyToInsert;
+                payload[insertionPosition] = payloadToInsert;
+                metrics.incrementSwaps(); // Insercao da chave na posicao correta
+            }
+        }
+    }
+
+    private boolean less(int firstValue, int secondValue, SortingMetrics metrics) {
+        metrics.incrementComparisons();
+        return firstValue < secondValue;
+    }
+
+    private boolean equal(int firstValue, int secondValue, SortingMetrics metrics) {
+        metrics.incrementComparisons();
+        return firstValue == secondValue;
+    }
+
+    private void swap(int[] keys, int[] payload, int firstIndex, int secondIndex, SortingMetrics metrics) {
+        if (firstIndex != secondIndex) { // So conta como troca se as posicoes forem diferentes
+            metrics.incrementSwaps();
+            int tempKey = keys[firstIndex];
+            keys[firstIndex] = keys[secondIndex];
+            keys[secondIndex] = tempKey;
+
+            int tempPayload = payload[firstIndex];
+            payload[firstIndex] = payload[secondIndex];
+            payload[secondIndex] = tempPayload;
+        }
+    }
+
+    public String getName() {
+        return "Quicksort Chave-Payload (M=" + threshold + ", 3-vias)";
+    }
+}
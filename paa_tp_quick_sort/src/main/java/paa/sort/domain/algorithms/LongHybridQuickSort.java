@@ -0,0 +1,123 @@
+package paa.sort.domain.algorithms;
+
+import paa.sort.domain.LongSortingAlgorithm;
+import paa.sort.domain.performance.SortingMetrics;
+
+import java.util.Objects;
+
+/**
+ * Quicksort hibrido com mediana-de-tres especializado em long[] (por exemplo
+ * timestamps). Segue a mesma logica de ImprovedHybridQuickSort, reescrita
+ * para o tipo primitivo para evitar conversao ou boxing dos valores.
+ */
+public class LongHybridQuickSort implements LongSortingAlgorithm {
+    private final int threshold;
+
+    public LongHybridQuickSort(int threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void sort(long[] array, int fromIndex, int toIndex, SortingMetrics metrics) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        quickSort(array, fromIndex, toIndex - 1, metrics);
+    }
+
+    private void quickSort(long[] array, int low, int high, SortingMetrics metrics) {
+        metrics.incrementComparisons(); // Comparacao: low < high
+        if (low < high) {
+            // Se o subarray e pequeno, usa Insertion Sort
+            int subarraySize = high - low + 1;
+            metrics.incrementComparisons(); // Comparacao: subarraySize <= threshold
+            if (subarraySize <= threshold) {
+                insertionSort(array, low, high, metrics);
+            } else {
+                // Usa mediana-de-tres para escolher o pivo
+                int medianIndex = medianOfThree(array, low, high, metrics);
+                swap(array, medianIndex, high, metrics); // Move o pivo para o final
+
+                int partitionIndex = partition(array, low, high, metrics);
+                quickSort(array, low, partitionIndex - 1, metrics);
+                quickSort(array, partitionIndex + 1, high, metrics);
+            }
+        }
+    }
+
+    /**
+     * Encontra a mediana de tres elementos (primeiro, meio e ultimo)
+     * e retorna o indice do elemento mediano
+     */
+    private int medianOfThree(long[] array, int low, int high, SortingMetrics metrics) {
+        int midIndex = low + (high - low) / 2;
+
+        metrics.incrementComparisons(); // Comparacao: array[low] > array[midIndex]
+        if (array[low] > array[midIndex]) {
+            swap(array, low, midIndex, metrics);
+        }
+
+        metrics.incrementComparisons(); // Comparacao: array[midIndex] > array[high]
+        if (array[midIndex] > array[high]) {
+            swap(array, midIndex, high, metrics);
+        }
+
+        metrics.incrementComparisons(); // Comparacao: array[low] > array[midIndex]
+        if (array[low] > array[midIndex]) {
+            swap(array, low, midIndex, metrics);
+        }
+
+        return midIndex; // O elemento do meio e a mediana
+    }
+
+    private int partition(long[] array, int low, int high, SortingMetrics metrics) {
+        long pivotValue = array[high];
+        int partitionIndex = low - 1;
+
+        for (int currentIndex = low; currentIndex < high; currentIndex++) {
+            metrics.incrementComparisons(); // Comparacao: array[currentIndex] <= pivotValue
+            if (array[currentIndex] <= pivotValue) {
+                partitionIndex++;
+                swap(array, partitionIndex, currentIndex, metrics);
+            }
+        }
+        swap(array, partitionIndex + 1, high, metrics);
+        return partitionIndex + 1;
+    }
+
+    private void insertionSort(long[] array, int low, int high, SortingMetrics metrics) {
+        for (int currentIndex = low + 1; currentIndex <= high; currentIndex++) {
+            long valueToInsert = array[currentIndex];
+            int comparisonIndex = currentIndex - 1;
+
+            while (comparisonIndex >= low) {
+                metrics.incrementComparisons(); // Comparacao: array[comparisonIndex] > valueToInsert
+                if (array[comparisonIndex] > valueToInsert) {
+                    array[comparisonIndex + 1] = array[comparisonIndex];
+                    metrics.incrementSwaps(); // Movimento/troca
+                    comparisonIndex--;
+                } else {
+                    break;
+                }
+            }
+
+            int insertionPosition = comparisonIndex + 1;
+            if (insertionPosition != currentIndex) {
+                array[insertionPosition] = valueToInsert;
+                metrics.incrementSwaps(); // Insercao do valueToInsert na posicao correta
+            }
+        }
+    }
+
+    private void swap(long[] array, int firstIndex, int secondIndex, SortingMetrics metrics) {
+        if (firstIndex != secondIndex) { // So conta como troca se as posicoes forem diferentes
+            metrics.incrementSwaps();
+            long tempValue = array[firstIndex];
+            array[firstIndex] = array[secondIndex];
+            array[secondIndex] = tempValue;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Quicksort Hibrido long[] (M=" + threshold + ", Mediana-de-3)";
+    }
+}
@@ -0,0 +1,118 @@
+package paa.sort.domain.algorithms;
+
+import paa.sort.domain.SortingAlgorithm;
+import paa.sort.domain.performance.SortingMetrics;
+
+import java.util.Objects;
+
+/**
+ * Implementacao do Radix Sort LSD (digito menos significativo primeiro) para
+ * inteiros de 32 bits, com digitos de 8 bits. Nao faz comparacoes entre
+ * elementos: cada passada distribui os valores por contagem em um unico buffer
+ * auxiliar, alternando entre ele e o array original.
+ *
+ * Nas metricas, cada passada de distribuicao conta como uma passada e cada
+ * escrita de elemento em sua nova posicao conta como um movimento (troca).
+ *
+ * O buffer auxiliar fica na instancia e e reaproveitado entre chamadas,
+ * crescendo apenas quando necessario. Por isso a instancia nao e
+ * thread-safe: ordenacoes concorrentes precisam de instancias diferentes.
+ */
+public class LsdRadixSort implements SortingAlgorithm {
+    private static final int BITS_PER_DIGIT = 8;
+    private static final int RADIX = 1 << BITS_PER_DIGIT;
+    private static final int DIGIT_MASK = RADIX - 1;
+    private static final int DIGIT_COUNT = Integer.SIZE / BITS_PER_DIGIT;
+
+    private int[] scratchBuffer = new int[0];
+
+    @Override
+    public void sort(int[] array, int fromIndex, int toIndex, SortingMetrics metrics) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        int length = toIndex - fromIndex;
+        if (length <= 1) {
+            return;
+        }
+
+        // Histogramas de todos os digitos calculados em uma unica leitura
+        int[][] digitCounts = new int[DIGIT_COUNT][RADIX + 1];
+        for (int index = fromIndex; index < toIndex; index++) {
+            int value = array[index];
+            for (int digit = 0; digit < DIGIT_COUNT; digit++) {
+                digitCounts[digit][digitOf(value, digit) + 1]++;
+            }
+        }
+        metrics.incrementPasses();
+
+        if (scratchBuffer.length < length) {
+            scratchBuffer = new int[length];
+        }
+        int[] source = array;
+        int sourceOffset = fromIndex;
+        int[] target = scratchBuffer;
+        int targetOffset = 0;
+
+        for (int digit = 0; digit < DIGIT_COUNT; digit++) {
+            int[] offsets = digitCounts[digit];
+
+            // Se todos os elementos tem o mesmo digito a passada nao muda nada
+            if (hasSingleBucket(offsets, length)) {
+                continue;
+            }
+
+            // Converte contagens em posicoes iniciais de cada balde
+            for (int bucket = 1; bucket <= RADIX; bucket++) {
+                offsets[bucket] += offsets[bucket - 1];
+            }
+
+            for (int index = 0; index < length; index++) {
+                int value = source[sourceOffset + index];
+                target[targetOffset + offsets[digitOf(value, digit)]++] = value;
+            }
+            metrics.incrementPasses();
+            metrics.addSwaps(length);
+
+            int[] previousSource = source;
+            int previousSourceOffset = sourceOffset;
+            source = target;
+            sourceOffset = targetOffset;
+            target = previousSource;
+            targetOffset = previousSourceOffset;
+        }
+
+        // Numero impar de passadas: o resultado esta no buffer auxiliar
+        if (source != array) {
+            System.arraycopy(source, sourceOffset, array, fromIndex, length);
+            metrics.addSwaps(length);
+        }
+    }
+
+    /**
+     * Extrai o digito de 8 bits de ordem digit. No digito mais significativo o
+     * bit de sinal e invertido para que os negativos venham antes dos positivos.
+     */
+    private static int digitOf(int value, int digit) {
+        int digitValue = (value >>> (digit * BITS_PER_DIGIT)) & DIGIT_MASK;
+        if (digit == DIGIT_COUNT - 1) {
+            digitValue ^= RADIX >>> 1;
+        }
+        return digitValue;
+    }
+
+    private static boolean hasSingleBucket(int[] counts, int length) {
+        for (int bucket = 1; bucket <= RADIX; bucket++) {
+            if (counts[bucket] == length) {
+                return true;
+            }
+            if (counts[bucket] != 0) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String getName() {
+        return "Radix Sort LSD (8 bits)";
+    }
+}
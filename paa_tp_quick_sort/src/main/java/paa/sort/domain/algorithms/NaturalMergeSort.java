@@ -0,0 +1,593 @@
+package paa.sort.domain.algorithms;
+
+import paa.sort.domain.SortingAlgorithm;
+import paa.sort.domain.performance.SortingMetrics;
+
+import java.util.Objects;
+
+/**
+ * Implementacao de um Merge Sort natural no estilo do TimSort. O array e
+ * dividido em sequencias ja ordenadas (runs): runs crescentes sao usadas como
+ * estao e runs estritamente decrescentes sao invertidas in-place. Runs menores
+ * que o tamanho minimo sao estendidas com Insertion Sort e a intercalacao usa
+ * galloping (busca exponencial) para copiar blocos inteiros de uma vez.
+ *
+ * Em dados formados por segmentos ordenados concatenados o custo fica proximo
+ * de O(n); no pior caso continua O(n log n) e a ordenacao e estavel.
+ */
+public class NaturalMergeSort implements SortingAlgorithm {
+    // Numero de vitorias seguidas de um mesmo run para entrar no modo galloping
+    private static final int MIN_GALLOP = 7;
+    // Com a invariante da pilha os runs crescem como Fibonacci: 49 niveis cobrem 2^31 elementos
+    private static final int MAX_RUN_STACK = 49;
+
+    private final int threshold;
+
+    public NaturalMergeSort(int threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void sort(int[] array, int fromIndex, int toIndex, SortingMetrics metrics) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        int remaining = toIndex - fromIndex;
+        if (remaining < 2) {
+            return;
+        }
+
+        MergeState state = new MergeState(array, metrics);
+        int minRun = minRunLength(remaining);
+        int runStart = fromIndex;
+
+        do {
+            int runLength = countRunAndMakeAscending(array, runStart, toIndex, metrics);
+
+            // Run curto: estende ate minRun elementos com Insertion Sort
+            if (runLength < minRun) {
+                int forcedLength = Math.min(remaining, minRun);
+                InsertionSort.sort(array, runStart, runStart + forcedLength - 1, metrics);
+                runLength = forcedLength;
+            }
+
+            state.pushRun(runStart, runLength);
+            state.mergeCollapse();
+
+            runStart += runLength;
+            remaining -= runLength;
+        } while (remaining != 0);
+
+        state.mergeForceCollapse();
+        metrics.incrementPasses();
+    }
+
+    /**
+     * Calcula o tamanho minimo de run entre threshold/2 e threshold, escolhido
+     * para que n/minRun fique proximo de uma potencia de 2 e as intercalacoes
+     * finais sejam balanceadas
+     */
+    private int minRunLength(int length) {
+        int minMerge = Math.max(2, threshold);
+        int remainder = 0;
+        while (length >= minMerge) {
+            remainder |= length & 1;
+            length >>= 1;
+        }
+        return length + remainder;
+    }
+
+    /**
+     * Mede o run que comeca em runStart e, se ele for estritamente decrescente,
+     * inverte-o para que fique crescente. Runs decrescentes precisam ser
+     * estritos para que a inversao preserve a estabilidade.
+     *
+     * @return Tamanho do run
+     */
+    private int countRunAndMakeAscending(int[] array, int runStart, int toIndex, SortingMetrics metrics) {
+        int runEnd = runStart + 1;
+        if (runEnd == toIndex) {
+            return 1;
+        }
+
+        metrics.incrementComparisons(); // Comparacao: array[runStart + 1] < array[runStart]
+        if (array[runEnd++] < array[runStart]) {
+            while (runEnd < toIndex) {
+                metrics.incrementComparisons(); // Comparacao: array[runEnd] < array[runEnd - 1]
+                if (array[runEnd] >= array[runEnd - 1]) {
+                    break;
+                }
+                runEnd++;
+            }
+            reverse(array, runStart, runEnd - 1, metrics);
+        } else {
+            while (runEnd < toIndex) {
+                metrics.incrementComparisons(); // Comparacao: array[runEnd] >= array[runEnd - 1]
+                if (array[runEnd] < array[runEnd - 1]) {
+                    break;
+                }
+                runEnd++;
+            }
+        }
+
+        return runEnd - runStart;
+    }
+
+    private void reverse(int[] array, int low, int high, SortingMetrics metrics) {
+        while (low < high) {
+            swap(array, low++, high--, metrics);
+        }
+    }
+
+    private void swap(int[] array, int firstIndex, int secondIndex, SortingMetrics metrics) {
+        if (firstIndex != secondIndex) { // So conta como troca se as posicoes forem diferentes
+            metrics.incrementSwaps();
+            int tempValue = array[firstIndex];
+            array[firstIndex] = array[secondIndex];
+            array[secondIndex] = tempValue;
+        }
+    }
+
+    /**
+     * Estado de uma ordenacao: pilha de runs pendentes, buffer auxiliar e o
+     * limiar adaptativo de galloping. Criado a cada chamada para que a mesma
+     * instancia do algoritmo possa ser usada por varias threads.
+     */
+    private static class MergeState {
+        private final int[] array;
+        private final SortingMetrics metrics;
+        private final int[] runBase = new int[MAX_RUN_STACK];
+        private final int[] runLength = new int[MAX_RUN_STACK];
+        private int stackSize;
+        private int minGallop = MIN_GALLOP;
+        private int[] buffer = new int[0];
+
+        private MergeState(int[] array, SortingMetrics metrics) {
+            this.array = array;
+            this.metrics = metrics;
+        }
+
+        private void pushRun(int base, int length) {
+            runBase[stackSize] = base;
+            runLength[stackSize] = length;
+            stackSize++;
+        }
+
+        /**
+         * Intercala runs do topo da pilha ate que as invariantes
+         * runLength[i-2] > runLength[i-1] + runLength[i] e
+         * runLength[i-1] > runLength[i] valham novamente
+         */
+        private void mergeCollapse() {
+            while (stackSize > 1) {
+                int index = stackSize - 2;
+                if (index > 0 && runLength[index - 1] <= runLength[index] + runLength[index + 1]
+                        || index > 1 && runLength[index - 2] <= runLength[index] + runLength[index - 1]) {
+                    if (runLength[index - 1] < runLength[index + 1]) {
+                        index--;
+                    }
+                } else if (runLength[index] > runLength[index + 1]) {
+                    break;
+                }
+                mergeAt(index);
+            }
+        }
+
+        /**
+         * Intercala todos os runs restantes ate sobrar apenas um
+         */
+        private void mergeForceCollapse() {
+            while (stackSize > 1) {
+                int index = stackSize - 2;
+                if (index > 0 && runLength[index - 1] < runLength[index + 1]) {
+                    index--;
+                }
+                mergeAt(index);
+            }
+        }
+
+        /**
+         * Intercala os runs das posicoes index e index+1 da pilha
+         */
+        private void mergeAt(int index) {
+            int firstBase = runBase[index];
+            int firstLength = runLength[index];
+            int secondBase = runBase[index + 1];
+            int secondLength = runLength[index + 1];
+
+            runLength[index] = firstLength + secondLength;
+            if (index == stackSize - 3) {
+                runBase[index + 1] = runBase[index + 2];
+                runLength[index + 1] = runLength[index + 2];
+            }
+            stackSize--;
+
+            // Elementos do inicio do primeiro run menores que o inicio do segundo ja estao no lugar
+            int alreadyPlaced = gallopRight(array[secondBase], array, firstBase, firstLength, 0);
+            firstBase += alreadyPlaced;
+            firstLength -= alreadyPlaced;
+            if (firstLength == 0) {
+                return;
+            }
+
+            // Elementos do fim do segundo run maiores que o fim do primeiro tambem ja estao no lugar
+            secondLength = gallopLeft(array[firstBase + firstLength - 1], array, secondBase, secondLength,
+                    secondLength - 1);
+            if (secondLength == 0) {
+                return;
+            }
+
+            // Copia o menor dos dois runs para o buffer auxiliar
+            if (firstLength <= secondLength) {
+                mergeLow(firstBase, firstLength, secondBase, secondLength);
+            } else {
+                mergeHigh(firstBase, firstLength, secondBase, secondLength);
+            }
+        }
+
+        /**
+         * Encontra a posicao em source[base .. base+length-1] onde key deve ser
+         * inserida antes de todos os iguais. A busca comeca em base+hint e
+         * avanca com saltos exponenciais antes da busca binaria final.
+         *
+         * @return k tal que source[base+k-1] < key <= source[base+k]
+         */
+        private int gallopLeft(int key, int[] source, int base, int length, int hint) {
+            int lastOffset = 0;
+            int offset = 1;
+
+            if (less(source[base + hint], key)) {
+                // Salta para a direita ate source[base+hint+lastOffset] < key <= source[base+hint+offset]
+                int maxOffset = length - hint;
+                while (offset < maxOffset && less(source[base + hint + offset], key)) {
+                    lastOffset = offset;
+                    offset = (offset << 1) + 1;
+                    if (offset <= 0) { // Overflow
+                        offset = maxOffset;
+                    }
+                }
+                if (offset > maxOffset) {
+                    offset = maxOffset;
+                }
+                lastOffset += hint;
+                offset += hint;
+            } else {
+                // Salta para a esquerda ate source[base+hint-offset] < key <= source[base+hint-lastOffset]
+                int maxOffset = hint + 1;
+                while (offset < maxOffset && !less(source[base + hint - offset], key)) {
+                    lastOffset = offset;
+                    offset = (offset << 1) + 1;
+                    if (offset <= 0) { // Overflow
+                        offset = maxOffset;
+                    }
+                }
+                if (offset > maxOffset) {
+                    offset = maxOffset;
+                }
+                int previousLastOffset = lastOffset;
+                lastOffset = hint - offset;
+                offset = hint - previousLastOffset;
+            }
+
+            // Busca binaria em (lastOffset, offset]
+            lastOffset++;
+            while (lastOffset < offset) {
+                int middle = lastOffset + ((offset - lastOffset) >>> 1);
+                if (less(source[base + middle], key)) {
+                    lastOffset = middle + 1;
+                } else {
+                    offset = middle;
+                }
+            }
+            return offset;
+        }
+
+        /**
+         * Igual a gallopLeft, mas posiciona key depois de todos os iguais
+         *
+         * @return k tal que source[base+k-1] <= key < source[base+k]
+         */
+        private int gallopRight(int key, int[] source, int base, int length, int hint) {
+            int lastOffset = 0;
+            int offset = 1;
+
+            if (less(key, source[base + hint])) {
+                // Salta para a esquerda ate source[base+hint-offset] <= key < source[base+hint-lastOffset]
+                int maxOffset = hint + 1;
+                while (offset < maxOffset && less(key, source[base + hint - offset])) {
+                    lastOffset = offset;
+                    offset = (offset << 1) + 1;
+                    if (offset <= 0) { // Overflow
+                        offset = maxOffset;
+                    }
+                }
+                if (offset > maxOffset) {
+                    offset = maxOffset;
+                }
+                int previousLastOffset = lastOffset;
+                lastOffset = hint - offset;
+                offset = hint - previousLastOffset;
+            } else {
+                // Salta para a direita ate source[base+hint+lastOffset] <= key < source[base+hint+offset]
+                int maxOffset = length - hint;
+                while (offset < maxOffset && !less(key, source[base + hint + offset])) {
+                    lastOffset = offset;
+                    offset = (offset << 1) + 1;
+                    if (offset <= 0) { // Overflow
+                        offset = maxOffset;
+                    }
+                }
+                if (offset > maxOffset) {
+                    offset = maxOffset;
+                }
+                lastOffset += hint;
+                offset += hint;
+            }
+
+            // Busca binaria em (lastOffset, offset]
+            lastOffset++;
+            while (lastOffset < offset) {
+                int middle = lastOffset + ((offset - lastOffset) >>> 1);
+                if (less(key, source[base + middle])) {
+                    offset = middle;
+                } else {
+                    lastOffset = middle + 1;
+                }
+            }
+            return offset;
+        }
+
+        /**
+         * Intercala da esquerda para a direita, com o primeiro run (menor) no
+         * buffer. Pre-condicoes de mergeAt: array[firstBase] > array[secondBase]
+         * e o ultimo elemento do primeiro run e maior que todo o segundo run.
+         */
+        private void mergeLow(int firstBase, int firstLength, int secondBase, int secondLength) {
+            int[] temp = ensureCapacity(firstLength);
+            System.arraycopy(array, firstBase, temp, 0, firstLength);
+            metrics.addSwaps(firstLength);
+
+            int firstCursor = 0;
+            int secondCursor = secondBase;
+            int destination = firstBase;
+
+            array[destination++] = array[secondCursor++];
+            metrics.incrementSwaps();
+            if (--secondLength == 0) {
+                copy(temp, firstCursor, destination, firstLength);
+                return;
+            }
+            if (firstLength == 1) {
+                copy(array, secondCursor, destination, secondLength);
+                array[destination + secondLength] = temp[firstCursor];
+                metrics.incrementSwaps();
+                return;
+            }
+
+            int currentMinGallop = minGallop;
+            mergeLoop:
+            while (true) {
+                int firstWins = 0;
+                int secondWins = 0;
+
+                // Intercalacao elemento a elemento ate um run vencer currentMinGallop vezes seguidas
+                do {
+                    if (less(array[secondCursor], temp[firstCursor])) {
+                        array[destination++] = array[secondCursor++];
+                        metrics.incrementSwaps();
+                        secondWins++;
+                        firstWins = 0;
+                        if (--secondLength == 0) {
+                            break mergeLoop;
+                        }
+                    } else {
+                        array[destination++] = temp[firstCursor++];
+                        metrics.incrementSwaps();
+                        firstWins++;
+                        secondWins = 0;
+                        if (--firstLength == 1) {
+                            break mergeLoop;
+                        }
+                    }
+                } while ((firstWins | secondWins) < currentMinGallop);
+
+                // Modo galloping: copia blocos enquanto eles forem longos
+                do {
+                    firstWins = gallopRight(array[secondCursor], temp, firstCursor, firstLength, 0);
+                    if (firstWins != 0) {
+                        copy(temp, firstCursor, destination, firstWins);
+                        destination += firstWins;
+                        firstCursor += firstWins;
+                        firstLength -= firstWins;
+                        if (firstLength <= 1) {
+                            break mergeLoop;
+                        }
+                    }
+                    array[destination++] = array[secondCursor++];
+                    metrics.incrementSwaps();
+                    if (--secondLength == 0) {
+                        break mergeLoop;
+                    }
+
+                    secondWins = gallopLeft(temp[firstCursor], array, secondCursor, secondLength, 0);
+                    if (secondWins != 0) {
+                        copy(array, secondCursor, destination, secondWins);
+                        destination += secondWins;
+                        secondCursor += secondWins;
+                        secondLength -= secondWins;
+                        if (secondLength == 0) {
+                            break mergeLoop;
+                        }
+                    }
+                    array[destination++] = temp[firstCursor++];
+                    metrics.incrementSwaps();
+                    if (--firstLength == 1) {
+                        break mergeLoop;
+                    }
+                    currentMinGallop--;
+                } while (firstWins >= MIN_GALLOP | secondWins >= MIN_GALLOP);
+
+                // Saiu do galloping: penaliza a proxima entrada
+                if (currentMinGallop < 0) {
+                    currentMinGallop = 0;
+                }
+                currentMinGallop += 2;
+            }
+            minGallop = Math.max(1, currentMinGallop);
+
+            if (firstLength == 1) {
+                copy(array, secondCursor, destination, secondLength);
+                array[destination + secondLength] = temp[firstCursor];
+                metrics.incrementSwaps();
+            } else {
+                copy(temp, firstCursor, destination, firstLength);
+            }
+        }
+
+        /**
+         * Intercala da direita para a esquerda, com o segundo run (menor) no
+         * buffer. Mesmas pre-condicoes de mergeLow.
+         */
+        private void mergeHigh(int firstBase, int firstLength, int secondBase, int secondLength) {
+            int[] temp = ensureCapacity(secondLength);
+            System.arraycopy(array, secondBase, temp, 0, secondLength);
+            metrics.addSwaps(secondLength);
+
+            int firstCursor = firstBase + firstLength - 1;
+            int secondCursor = secondLength - 1;
+            int destination = secondBase + secondLength - 1;
+
+            array[destination--] = array[firstCursor--];
+            metrics.incrementSwaps();
+            if (--firstLength == 0) {
+                copy(temp, 0, destination - (secondLength - 1), secondLength);
+                return;
+            }
+            if (secondLength == 1) {
+                destination -= firstLength;
+                firstCursor -= firstLength;
+                copy(array, firstCursor + 1, destination + 1, firstLength);
+                array[destination] = temp[secondCursor];
+                metrics.incrementSwaps();
+                return;
+            }
+
+            int currentMinGallop = minGallop;
+            mergeLoop:
+            while (true) {
+                int firstWins = 0;
+                int secondWins = 0;
+
+                // Intercalacao elemento a elemento ate um run vencer currentMinGallop vezes seguidas
+                do {
+                    if (less(temp[secondCursor], array[firstCursor])) {
+                        array[destination--] = array[firstCursor--];
+                        metrics.incrementSwaps();
+                        firstWins++;
+                        secondWins = 0;
+                        if (--firstLength == 0) {
+                            break mergeLoop;
+                        }
+                    } else {
+                        array[destination--] = temp[secondCursor--];
+                        metrics.incrementSwaps();
+                        secondWins++;
+                        firstWins = 0;
+                        if (--secondLength == 1) {
+                            break mergeLoop;
+                        }
+                    }
+                } while ((firstWins | secondWins) < currentMinGallop);
+
+                // Modo galloping: copia blocos enquanto eles forem longos
+                do {
+                    firstWins = firstLength
+                            - gallopRight(temp[secondCursor], array, firstBase, firstLength, firstLength - 1);
+                    if (firstWins != 0) {
+                        destination -= firstWins;
+                        firstCursor -= firstWins;
+                        firstLength -= firstWins;
+                        copy(array, firstCursor + 1, destination + 1, firstWins);
+                        if (firstLength == 0) {
+                            break mergeLoop;
+                        }
+                    }
+                    array[destination--] = temp[secondCursor--];
+                    metrics.incrementSwaps();
+                    if (--secondLength == 1) {
+                        break mergeLoop;
+                    }
+
+                    secondWins = secondLength
+                            - gallopLeft(array[firstCursor], temp, 0, secondLength, secondLength - 1);
+                    if (secondWins != 0) {
+                        destination -= secondWins;
+                        secondCursor -= secondWins;
+                        secondLength -= secondWins;
+                        copy(temp, secondCursor + 1, destination + 1, secondWins);
+                        if (secondLength <= 1) {
+                            break mergeLoop;
+                        }
+                    }
+                    array[destination--] = array[firstCursor--];
+                    metrics.incrementSwaps();
+                    if (--firstLength == 0) {
+                        break mergeLoop;
+                    }
+                    currentMinGallop--;
+                } while (firstWins >= MIN_GALLOP | secondWins >= MIN_GALLOP);
+
+                // Saiu do galloping: penaliza a proxima entrada
+                if (currentMinGallop < 0) {
+                    currentMinGallop = 0;
+                }
+                currentMinGallop += 2;
+            }
+            minGallop = Math.max(1, currentMinGallop);
+
+            if (secondLength == 1) {
+                destination -= firstLength;
+                firstCursor -= firstLength;
+                copy(array, firstCursor + 1, destination + 1, firstLength);
+                array[destination] = temp[secondCursor];
+                metrics.incrementSwaps();
+            } else {
+                copy(temp, 0, destination - (secondLength - 1), secondLength);
+            }
+        }
+
+        /**
+         * Copia length elementos de source para array[destination ..]
+         * contando cada elemento como um movimento
+         */
+        private void copy(int[] source, int sourceIndex, int destination, int length) {
+            System.arraycopy(source, sourceIndex, array, destination, length);
+            metrics.addSwaps(length);
+        }
+
+        /**
+         * Garante que o buffer auxiliar comporte minCapacity elementos,
+         * crescendo em potencias de 2 limitadas a metade do array
+         */
+        private int[] ensureCapacity(int minCapacity) {
+            if (buffer.length < minCapacity) {
+                int newCapacity = Integer.highestOneBit(minCapacity) << 1;
+                if (newCapacity < 0) { // Overflow
+                    newCapacity = minCapacity;
+                } else {
+                    newCapacity = Math.min(newCapacity, array.length >>> 1);
+                }
+                buffer = new int[Math.max(newCapacity, minCapacity)];
+            }
+            return buffer;
+        }
+
+        private boolean less(int firstValue, int secondValue) {
+            metrics.incrementComparisons();
+            return firstValue < secondValue;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Merge Sort Natural (M=" + threshold + ", runs com galloping)";
+    }
+}
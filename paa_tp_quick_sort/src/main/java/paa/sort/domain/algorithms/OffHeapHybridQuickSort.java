@@ -0,0 +1,206 @@
+package paa.sort.domain.algorithms;
+
+import paa.sort.domain.memory.OffHeapIntArray;
+import paa.sort.domain.performance.NoOpSortingMetrics;
+import paa.sort.domain.performance.SortingMetrics;
+
+import java.util.Objects;
+
+/**
+ * Quicksort hibrido sobre um OffHeapIntArray, com indices long para suportar
+ * mais de Integer.MAX_VALUE elementos, e Insertion Sort abaixo do threshold.
+ *
+ * O particionamento e em tres vias (Bentley-McIlroy, como no
+ * ThreeWayQuickSort): os elementos iguais ao pivo ficam no centro e saem das
+ * duas particoes, entao entradas com poucos valores distintos (despejos com
+ * chaves repetidas) ordenam em tempo linear em vez de quadratico. O pivo e a
+ * mediana-de-tres e a recursao e feita apenas na menor particao (a maior
+ * continua no laco), o que limita a pilha a O(log n) niveis.
+ */
+public class OffHeapHybridQuickSort {
+    private final int threshold;
+
+    public OffHeapHybridQuickSort(int threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * Ordena todo o array fora do heap in-place
+     * @param array Array a ser ordenado
+     */
+    public void sort(OffHeapIntArray array) {
+        sort(array, 0, array.length(), NoOpSortingMetrics.INSTANCE);
+    }
+
+    /**
+     * Ordena in-place o intervalo array[fromIndex..toIndex-1] coletando metricas
+     * @param array Array cujo intervalo sera ordenado
+     * @param fromIndex Indice inicial (inclusivo)
+     * @param toIndex Indice final (exclusivo)
+     * @param metrics Objeto para coletar metricas de comparacoes e trocas
+     * @throws IndexOutOfBoundsException se o intervalo for invalido para o array
+     */
+    public void sort(OffHeapIntArray array, long fromIndex, long toIndex, SortingMetrics metrics) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length());
+        quickSort(array, fromIndex, toIndex - 1, metrics);
+    }
+
+    private void quickSort(OffHeapIntArray array, long low, long high, SortingMetrics metrics) {
+        while (true) {
+            metrics.incrementComparisons(); // Comparacao: low < high
+            if (low >= high) {
+                return;
+            }
+
+            // Se o subarray e pequeno, usa Insertion Sort
+            long subarraySize = high - low + 1;
+            metrics.incrementComparisons(); // Comparacao: subarraySize <= threshold
+            if (subarraySize <= threshold) {
+                insertionSort(array, low, high, metrics);
+                return;
+            }
+
+            long medianIndex = medianOfThree(array, low, high, metrics);
+            swap(array, low, medianIndex, metrics); // Move o pivo para o inicio
+
+            long[] equalRange = partition(array, low, high, metrics);
+            long equalStart = equalRange[0];
+            long equalEnd = equalRange[1];
+
+            // Recursao na menor particao, laco na maior
+            if (equalStart - low < high - equalEnd) {
+                quickSort(array, low, equalStart - 1, metrics);
+                low = equalEnd + 1;
+            } else {
+                quickSort(array, equalEnd + 1, high, metrics);
+                high = equalStart - 1;
+            }
+        }
+    }
+
+    /**
+     * Encontra a mediana de tres elementos (primeiro, meio e ultimo)
+     * e retorna o indice do elemento mediano
+     */
+    private long medianOfThree(OffHeapIntArray array, long low, long high, SortingMetrics metrics) {
+        long midIndex = low + (high - low) / 2;
+
+        metrics.incrementComparisons(); // Comparacao: array[low] > array[midIndex]
+        if (array.get(low) > array.get(midIndex)) {
+            swap(array, low, midIndex, metrics);
+        }
+
+        metrics.incrementComparisons(); // Comparacao: array[midIndex] > array[high]
+        if (array.get(midIndex) > array.get(high)) {
+            swap(array, midIndex, high, metrics);
+        }
+
+        metrics.incrementComparisons(); // Comparacao: array[low] > array[midIndex]
+        if (array.get(low) > array.get(midIndex)) {
+            swap(array, low, midIndex, metrics);
+        }
+
+        return midIndex; // O elemento do meio e a mediana
+    }
+
+    /**
+     * Particionamento de Bentley-McIlroy com pivo em array[low]. Durante a
+     * varredura os elementos iguais ao pivo sao guardados nas extremidades e,
+     * ao final, trocados para o centro.
+     *
+     * @return Intervalo [inicio, fim] ocupado pelos elementos iguais ao pivo
+     */
+    private long[] partition(OffHeapIntArray array, long low, long high, SortingMetrics metrics) {
+        int pivotValue = array.get(low);
+        long leftIndex = low;
+        long rightIndex = high + 1;
+        long leftEqualEnd = low;        // array[low .. leftEqualEnd] == pivo
+        long rightEqualStart = high + 1; // array[rightEqualStart .. high] == pivo
+
+        while (true) {
+            while (less(array.get(++leftIndex), pivotValue, metrics)) {
+                if (leftIndex == high) {
+                    break;
+                }
+            }
+            while (less(pivotValue, array.get(--rightIndex), metrics)) {
+                if (rightIndex == low) {
+                    break;
+                }
+            }
+
+            // Ponteiros se encontraram em um elemento igual ao pivo
+            if (leftIndex == rightIndex && equal(array.get(leftIndex), pivotValue, metrics)) {
+                swap(array, ++leftEqualEnd, leftIndex, metrics);
+            }
+            if (leftIndex >= rightIndex) {
+                break;
+            }
+
+            swap(array, leftIndex, rightIndex, metrics);
+            if (equal(array.get(leftIndex), pivotValue, metrics)) {
+                swap(array, ++leftEqualEnd, leftIndex, metrics);
+            }
+            if (equal(array.get(rightIndex), pivotValue, metrics)) {
+                swap(array, --rightEqualStart, rightIndex, metrics);
+            }
+        }
+
+        // Traz os elementos iguais das extremidades para o centro
+        leftIndex = rightIndex + 1;
+        for (long equalIndex = low; equalIndex <= leftEqualEnd; equalIndex++) {
+            swap(array, equalIndex, rightIndex--, metrics);
+        }
+        for (long equalIndex = high; equalIndex >= rightEqualStart; equalIndex--) {
+            swap(array, equalIndex, leftIndex++, metrics);
+        }
+
+        return new long[] { rightIndex + 1, leftIndex - 1 };
+    }
+
+    private boolean less(int firstValue, int secondValue, SortingMetrics metrics) {
+        metrics.incrementComparisons();
+        return firstValue < secondValue;
+    }
+
+    private boolean equal(int firstValue, int secondValue, SortingMetrics metrics) {
+        metrics.incrementComparisons();
+        return firstValue == secondValue;
+    }
+
+    private void insertionSort(OffHeapIntArray array, long low, long high, SortingMetrics metrics) {
+        for (long currentIndex = low + 1; currentIndex <= high; currentIndex++) {
+            int valueToInsert = array.get(currentIndex);
+            long comparisonIndex = currentIndex - 1;
+
+            while (comparisonIndex >= low) {
+                metrics.incrementComparisons(); // Comparacao: array[comparisonIndex] > valueToInsert
+                int comparedValue = array.get(comparisonIndex);
+                if (comparedValue > valueToInsert) {
+                    array.set(comparisonIndex + 1, comparedValue);
+                    metrics.incrementSwaps(); // Movimento/troca
+                    comparisonIndex--;
+                } else {
+                    break;
+                }
+            }
+
+            long insertionPosition = comparisonIndex + 1;
+            if (insertionPosition != currentIndex) {
+                array.set(insertionPosition, valueToInsert);
+                metrics.incrementSwaps(); // Insercao do valueToInsert na posicao correta
+            }
+        }
+    }
+
+    private void swap(OffHeapIntArray array, long firstIndex, long secondIndex, SortingMetrics metrics) {
+        if (firstIndex != secondIndex) { // So conta como troca se as posicoes forem diferentes
+            metrics.incrementSwaps();
+            array.swap(firstIndex, secondIndex);
+        }
+    }
+
+    public String getName() {
+        return "Quicksort Hibrido Off-Heap (M=" + threshold + ", Mediana-de-3, 3 vias)";
+    }
+}
@@ -0,0 +1,122 @@
+package paa.sort.domain.algorithms;
+
+import paa.sort.domain.SortingAlgorithm;
+import paa.sort.domain.algorithms.pivot.LastElementPivot;
+import paa.sort.domain.algorithms.pivot.PivotStrategy;
+import paa.sort.domain.performance.NoOpSortingMetrics;
+import paa.sort.domain.performance.SortingMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Implementacao paralela do Quicksort hibrido usando o framework Fork/Join.
+ * Subarrays maiores que o corte sequencial sao particionados e o lado menor e
+ * delegado a uma nova tarefa; abaixo do corte executa o mesmo caminho do
+ * HybridQuickSort sequencial.
+ */
+public class ParallelHybridQuickSort implements SortingAlgorithm {
+    private static final int DEFAULT_SEQUENTIAL_CUTOFF = 8192;
+
+    private final int threshold;
+    private final int sequentialCutoff;
+    private final ForkJoinPool pool;
+    private final HybridQuickSort sequentialSort;
+
+    public ParallelHybridQuickSort(int threshold) {
+        this(threshold, DEFAULT_SEQUENTIAL_CUTOFF, ForkJoinPool.commonPool());
+    }
+
+    public ParallelHybridQuickSort(int threshold, int sequentialCutoff, ForkJoinPool pool) {
+        this(threshold, sequentialCutoff, pool, new LastElementPivot());
+    }
+
+    /**
+     * @param pivotStrategy Estrategia compartilhada pelas tarefas; precisa ser thread-safe
+     */
+    public ParallelHybridQuickSort(int threshold, int sequentialCutoff, ForkJoinPool pool,
+                                   PivotStrategy pivotStrategy) {
+        this.threshold = threshold;
+        this.sequentialCutoff = sequentialCutoff;
+        this.pool = pool;
+        this.sequentialSort = new HybridQuickSort(threshold, pivotStrategy);
+    }
+
+    @Override
+    public void sort(int[] array, int fromIndex, int toIndex, SortingMetrics metrics) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        QuickSortTask rootTask = new QuickSortTask(array, fromIndex, toIndex - 1, metrics.isEnabled());
+        pool.invoke(rootTask);
+        metrics.add(rootTask.metrics);
+    }
+
+    /**
+     * Tarefa Fork/Join que ordena o intervalo [low, high]. Cada tarefa coleta
+     * metricas em um objeto proprio, somado ao da tarefa pai no join, ja que
+     * SortingMetrics nao e thread-safe. Se o chamador nao coleta metricas, as
+     * tarefas tambem nao coletam.
+     */
+    private final class QuickSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] array;
+        private final int low;
+        private final int high;
+        private final boolean countOperations;
+        private final SortingMetrics metrics;
+
+        QuickSortTask(int[] array, int low, int high, boolean countOperations) {
+            this.array = array;
+            this.low = low;
+            this.high = high;
+            this.countOperations = countOperations;
+            this.metrics = countOperations ? new SortingMetrics() : NoOpSortingMetrics.INSTANCE;
+        }
+
+        @Override
+        protected void compute() {
+            List<QuickSortTask> forkedTasks = new ArrayList<>();
+            int currentLow = low;
+            int currentHigh = high;
+
+            // Particiona enquanto o subarray for grande; o lado menor vira tarefa e o
+            // maior continua no laco, limitando a profundidade de pilha das tarefas
+            while (currentHigh - currentLow + 1 > sequentialCutoff) {
+                metrics.addComparisons(2); // Comparacoes: low < high e subarraySize <= threshold
+                int pivotIndex = sequentialSort.partition(array, currentLow, currentHigh, metrics);
+
+                if (pivotIndex - currentLow < currentHigh - pivotIndex) {
+                    sortOrFork(currentLow, pivotIndex - 1, forkedTasks);
+                    currentLow = pivotIndex + 1;
+                } else {
+                    sortOrFork(pivotIndex + 1, currentHigh, forkedTasks);
+                    currentHigh = pivotIndex - 1;
+                }
+            }
+            sequentialSort.quickSort(array, currentLow, currentHigh, metrics);
+
+            for (QuickSortTask forkedTask : forkedTasks) {
+                forkedTask.join();
+                metrics.add(forkedTask.metrics);
+            }
+        }
+
+        private void sortOrFork(int subLow, int subHigh, List<QuickSortTask> forkedTasks) {
+            if (subHigh - subLow + 1 > sequentialCutoff) {
+                QuickSortTask task = new QuickSortTask(array, subLow, subHigh, countOperations);
+                task.fork();
+                forkedTasks.add(task);
+            } else {
+                sequentialSort.quickSort(array, subLow, subHigh, metrics);
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Quicksort Hibrido Paralelo (M=" + threshold + ", " + pool.getParallelism() + " threads)";
+    }
+}
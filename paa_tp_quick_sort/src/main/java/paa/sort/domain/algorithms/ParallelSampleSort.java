@@ -0,0 +1,748 @@
+package paa.sort.domain.algorithms;
+
+import paa.sort.domain.SortingAlgorithm;
+import paa.sort.domain.performance.NoOpSortingMetrics;
+import paa.sort.domain.performance.SortingMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Samplesort paralelo in-place no estilo do IPS4o (in-place parallel super
+ * scalar samplesort). Em cada nivel:
+ * 1. uma amostra aleatoria e ordenada e dela saem ate 127 separadores;
+ * 2. classificacao local: o intervalo e dividido em faixas, uma por tarefa.
+ *    Cada tarefa classifica sua faixa por uma arvore de busca implicita
+ *    (layout de Eytzinger) percorrida sem desvios condicionais e guarda os
+ *    elementos em um buffer de BLOCK_SIZE elementos por balde. Cada buffer
+ *    cheio volta para o inicio da propria faixa como um bloco homogeneo;
+ * 3. os blocos vazios abaixo do total de blocos cheios recebem os blocos
+ *    cheios que ficaram acima dele, de modo que os blocos a distribuir fiquem
+ *    contiguos;
+ * 4. permutacao de blocos: as tarefas levam cada bloco para a regiao do seu
+ *    balde usando, por balde, ponteiros atomicos de escrita e leitura;
+ * 5. limpeza: as bordas de cada balde, que nao formam blocos inteiros, sao
+ *    preenchidas com o que sobrou nos buffers;
+ * 6. os baldes sao ordenados recursivamente em paralelo.
+ *
+ * A memoria auxiliar e O(p * k * BLOCK_SIZE) por nivel (p tarefas, k baldes),
+ * independente de n. Nenhum nivel tem uma etapa sequencial de custo O(n).
+ * Quando a amostra tem separadores repetidos sao criados baldes de igualdade,
+ * que ja ficam prontos sem recursao. Baldes pequenos sao ordenados pelo
+ * Quicksort hibrido com mediana-de-tres.
+ */
+public class ParallelSampleSort implements SortingAlgorithm {
+    private static final int DEFAULT_BASE_CASE_SIZE = 4096;
+    // 2^7 = 128 baldes (256 com baldes de igualdade): o rotulo cabe em um byte
+    private static final int MAX_TREE_LEVELS = 7;
+    private static final int OVERSAMPLING_FACTOR = 8;
+    // 256 baldes * 256 elementos * 4 bytes = 256 KiB de buffers por tarefa (cabe no L2)
+    private static final int BLOCK_SIZE = 256;
+    // Menor faixa de classificacao que compensa uma tarefa propria
+    private static final int MIN_STRIPE_SIZE = 16384;
+    // Elementos classificados de uma vez: 4 KiB de int + 1 KiB de rotulos no L1
+    private static final int CLASSIFY_CHUNK_SIZE = 1024;
+
+    private final int threshold;
+    private final int baseCaseSize;
+    private final ForkJoinPool pool;
+    private final SortingAlgorithm baseCaseSort;
+
+    public ParallelSampleSort(int threshold) {
+        this(threshold, DEFAULT_BASE_CASE_SIZE, ForkJoinPool.commonPool());
+    }
+
+    public ParallelSampleSort(int threshold, int baseCaseSize, ForkJoinPool pool) {
+        this.threshold = threshold;
+        this.baseCaseSize = Math.max(baseCaseSize, 2 * OVERSAMPLING_FACTOR);
+        this.pool = pool;
+        this.baseCaseSort = new ImprovedHybridQuickSort(threshold);
+    }
+
+    @Override
+    public void sort(int[] array, int fromIndex, int toIndex, SortingMetrics metrics) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        int length = toIndex - fromIndex;
+        if (length <= baseCaseSize) {
+            baseCaseSort.sort(array, fromIndex, toIndex, metrics);
+            return;
+        }
+
+        SampleSortTask rootTask = new SampleSortTask(array, fromIndex, toIndex, metrics.isEnabled());
+        pool.invoke(rootTask);
+        metrics.add(rootTask.metrics);
+    }
+
+    /**
+     * Classificador de elementos em baldes. Os separadores ficam em uma arvore
+     * binaria de busca completa no layout de Eytzinger (filhos do no i em 2i
+     * e 2i+1), percorrida com exatamente "levels" passos.
+     */
+    private static final class Classifier {
+        private final int levels;
+        private final int[] tree;
+        private final int[] sortedSplitters;
+        private final boolean equalityBuckets;
+
+        private Classifier(int[] uniqueSplitters, boolean equalityBuckets) {
+            this.levels = 32 - Integer.numberOfLeadingZeros(uniqueSplitters.length);
+            int leafCount = 1 << levels;
+
+            // Completa com o maior separador para formar uma arvore cheia
+            this.sortedSplitters = new int[leafCount - 1];
+            for (int index = 0; index < sortedSplitters.length; index++) {
+                sortedSplitters[index] = uniqueSplitters[Math.min(index, uniqueSplitters.length - 1)];
+            }
+
+            this.tree = new int[leafCount];
+            buildTree(1, 0, sortedSplitters.length - 1);
+            this.equalityBuckets = equalityBuckets;
+        }
+
+        private void buildTree(int node, int low, int high) {
+            int middle = (low + high) >>> 1;
+            tree[node] = sortedSplitters[middle];
+            if (low < middle) {
+                buildTree(2 * node, low, middle - 1);
+                buildTree(2 * node + 1, middle + 1, high);
+            }
+        }
+
+        private int bucketCount() {
+            return equalityBuckets ? 2 << levels : 1 << levels;
+        }
+
+        private int comparisonsPerElement() {
+            return levels + (equalityBuckets ? 1 : 0);
+        }
+
+        /**
+         * @return Balde do valor: a quantidade de separadores menores que ele
+         *         ou, com baldes de igualdade, 2*quantidade (+1 se igual ao separador)
+         */
+        private int classify(int value) {
+            int node = 1;
+            for (int level = 0; level < levels; level++) {
+                node = 2 * node + (value > tree[node] ? 1 : 0);
+            }
+            int bucket = node - (1 << levels);
+
+            if (equalityBuckets) {
+                boolean equalToSplitter = bucket < sortedSplitters.length && value == sortedSplitters[bucket];
+                bucket = 2 * bucket + (equalToSplitter ? 1 : 0);
+            }
+            return bucket;
+        }
+
+        private boolean isEqualityBucket(int bucket) {
+            return equalityBuckets && (bucket & 1) == 1;
+        }
+    }
+
+    /**
+     * Tarefa que ordena array[fromIndex..toIndex-1]. Cada tarefa coleta
+     * metricas em um objeto proprio, somado ao da tarefa pai no join, ja que
+     * SortingMetrics nao e thread-safe.
+     */
+    private final class SampleSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] array;
+        private final int fromIndex;
+        private final int toIndex;
+        private final boolean countOperations;
+        private final SortingMetrics metrics;
+
+        SampleSortTask(int[] array, int fromIndex, int toIndex, boolean countOperations) {
+            this.array = array;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.countOperations = countOperations;
+            this.metrics = countOperations ? new SortingMetrics() : NoOpSortingMetrics.INSTANCE;
+        }
+
+        @Override
+        protected void compute() {
+            int length = toIndex - fromIndex;
+            if (length <= baseCaseSize) {
+                baseCaseSort.sort(array, fromIndex, toIndex, metrics);
+                return;
+            }
+
+            Classifier classifier = buildClassifier(length);
+            int[] bucketStarts = partition(classifier);
+            metrics.incrementPasses();
+
+            // Fase 6: ordena os baldes em paralelo
+            List<SampleSortTask> bucketTasks = new ArrayList<>();
+            for (int bucket = 0; bucket < classifier.bucketCount(); bucket++) {
+                int bucketStart = bucketStarts[bucket];
+                int bucketEnd = bucketStarts[bucket + 1];
+                if (bucketEnd - bucketStart <= 1 || classifier.isEqualityBucket(bucket)) {
+                    continue; // Baldes de igualdade ja estao ordenados
+                }
+                if (bucketEnd - bucketStart == length) {
+                    // Amostra ruim colocou tudo em um balde: evita recursao sem progresso
+                    baseCaseSort.sort(array, bucketStart, bucketEnd, metrics);
+                    continue;
+                }
+                bucketTasks.add(new SampleSortTask(array, bucketStart, bucketEnd, countOperations));
+            }
+
+            ForkJoinTask.invokeAll(bucketTasks);
+            for (SampleSortTask bucketTask : bucketTasks) {
+                metrics.add(bucketTask.metrics);
+            }
+        }
+
+        /**
+         * Sorteia uma amostra com OVERSAMPLING_FACTOR elementos por balde, ordena-a
+         * e escolhe separadores igualmente espacados. Separadores repetidos
+         * indicam muitos valores iguais e ativam os baldes de igualdade.
+         */
+        private Classifier buildClassifier(int length) {
+            int levels = Math.min(MAX_TREE_LEVELS,
+                    31 - Integer.numberOfLeadingZeros(Math.max(1, length / baseCaseSize)) + 1);
+            int targetBuckets = 1 << levels;
+            int sampleSize = Math.min(length, targetBuckets * OVERSAMPLING_FACTOR - 1);
+
+            SplittableRandom random = new SplittableRandom(31L * fromIndex + length);
+            int[] sample = new int[sampleSize];
+            for (int index = 0; index < sampleSize; index++) {
+                sample[index] = array[fromIndex + random.nextInt(length)];
+            }
+            baseCaseSort.sort(sample, 0, sampleSize, metrics);
+
+            int[] splitters = new int[targetBuckets - 1];
+            int uniqueCount = 0;
+            for (int splitter = 1; splitter < targetBuckets; splitter++) {
+                int candidate = sample[splitter * OVERSAMPLING_FACTOR - 1];
+                if (uniqueCount == 0 || candidate != splitters[uniqueCount - 1]) {
+                    splitters[uniqueCount++] = candidate;
+                }
+            }
+
+            int[] uniqueSplitters = new int[uniqueCount];
+            System.arraycopy(splitters, 0, uniqueSplitters, 0, uniqueCount);
+            return new Classifier(uniqueSplitters, uniqueCount < targetBuckets - 1);
+        }
+
+        /**
+         * Particiona o intervalo in-place nos baldes do classificador (fases 2 a 5)
+         *
+         * @return Inicio de cada balde, com o fim do intervalo na ultima posicao
+         */
+        private int[] partition(Classifier classifier) {
+            int length = toIndex - fromIndex;
+            int bucketCount = classifier.bucketCount();
+            int stripeCount = Math.max(1, Math.min(pool.getParallelism(), length / MIN_STRIPE_SIZE));
+            LevelState level = new LevelState(array, fromIndex, toIndex, classifier);
+
+            // Fase 2: classificacao local, faixas alinhadas ao tamanho do bloco
+            int blockCount = length / BLOCK_SIZE;
+            List<LevelTask> classifyTasks = new ArrayList<>(stripeCount);
+            for (int stripe = 0; stripe < stripeCount; stripe++) {
+                int stripeStart = fromIndex + (int) ((long) blockCount * stripe / stripeCount) * BLOCK_SIZE;
+                int stripeEnd = stripe == stripeCount - 1
+                        ? toIndex
+                        : fromIndex + (int) ((long) blockCount * (stripe + 1) / stripeCount) * BLOCK_SIZE;
+                classifyTasks.add(new ClassifyTask(level, stripeStart, stripeEnd, countOperations));
+            }
+            runLevelTasks(classifyTasks);
+
+            ClassifyTask[] stripes = classifyTasks.toArray(new ClassifyTask[0]);
+            level.stripes = stripes;
+
+            int[] bucketStarts = new int[bucketCount + 1];
+            int position = fromIndex;
+            int fullBlocks = 0;
+            for (int bucket = 0; bucket < bucketCount; bucket++) {
+                bucketStarts[bucket] = position;
+                for (ClassifyTask stripe : stripes) {
+                    position += stripe.bucketSizes[bucket];
+                }
+            }
+            bucketStarts[bucketCount] = position;
+            for (ClassifyTask stripe : stripes) {
+                fullBlocks += (stripe.writeEnd - stripe.stripeStart) / BLOCK_SIZE;
+            }
+            level.bucketStarts = bucketStarts;
+
+            // Fase 3: blocos cheios acima de fullBlocks vao para os blocos vazios abaixo
+            List<LevelTask> moveTasks = createMoveTasks(level, stripes, fullBlocks, stripeCount);
+            runLevelTasks(moveTasks);
+
+            // Fase 4: permutacao dos blocos [0, fullBlocks) para as regioes dos baldes
+            level.initializePointers(fullBlocks);
+            List<LevelTask> permuteTasks = new ArrayList<>(stripeCount);
+            for (int task = 0; task < stripeCount; task++) {
+                permuteTasks.add(new PermuteTask(level, task * bucketCount / stripeCount, countOperations));
+            }
+            runLevelTasks(permuteTasks);
+
+            // Fase 5: limpeza das bordas; as sobras de todos os baldes sao salvas
+            // antes de qualquer balde preencher suas bordas
+            List<LevelTask> spillTasks = new ArrayList<>(stripeCount);
+            List<LevelTask> fillTasks = new ArrayList<>(stripeCount);
+            for (int task = 0; task < stripeCount; task++) {
+                int firstBucket = task * bucketCount / stripeCount;
+                int lastBucket = (task + 1) * bucketCount / stripeCount;
+                spillTasks.add(new SaveSpillTask(level, firstBucket, lastBucket, countOperations));
+                fillTasks.add(new FillBucketsTask(level, firstBucket, lastBucket, countOperations));
+            }
+            runLevelTasks(spillTasks);
+            runLevelTasks(fillTasks);
+
+            return bucketStarts;
+        }
+
+        /**
+         * Emparelha, em ordem, cada bloco vazio abaixo de fullBlocks com um bloco
+         * cheio acima dele; os pares sao copiados em paralelo
+         */
+        private List<LevelTask> createMoveTasks(LevelState level, ClassifyTask[] stripes, int fullBlocks,
+                int taskCount) {
+            int[] emptyBlocks = new int[stripes.length * (level.classifier.bucketCount() + 1)];
+            int[] fullBlocksAbove = new int[emptyBlocks.length];
+            int emptyCount = 0;
+            int aboveCount = 0;
+
+            for (ClassifyTask stripe : stripes) {
+                int firstBlock = (stripe.stripeStart - fromIndex) / BLOCK_SIZE;
+                int writtenEnd = (stripe.writeEnd - fromIndex) / BLOCK_SIZE;
+                int stripeEndBlock = (stripe.stripeEnd - fromIndex) / BLOCK_SIZE;
+                for (int block = writtenEnd; block < Math.min(stripeEndBlock, fullBlocks); block++) {
+                    emptyBlocks[emptyCount++] = block;
+                }
+                for (int block = Math.max(firstBlock, fullBlocks); block < writtenEnd; block++) {
+                    fullBlocksAbove[aboveCount++] = block;
+                }
+            }
+
+            List<LevelTask> moveTasks = new ArrayList<>(taskCount);
+            for (int task = 0; task < taskCount; task++) {
+                int firstPair = (int) ((long) emptyCount * task / taskCount);
+                int lastPair = (int) ((long) emptyCount * (task + 1) / taskCount);
+                moveTasks.add(new MoveBlocksTask(level, emptyBlocks, fullBlocksAbove, firstPair, lastPair,
+                        countOperations));
+            }
+            return moveTasks;
+        }
+
+        private void runLevelTasks(List<LevelTask> levelTasks) {
+            if (levelTasks.size() == 1) {
+                levelTasks.get(0).compute();
+            } else {
+                ForkJoinTask.invokeAll(levelTasks);
+            }
+            for (LevelTask levelTask : levelTasks) {
+                metrics.add(levelTask.metrics);
+            }
+        }
+    }
+
+    /**
+     * Estado compartilhado pelas tarefas de um nivel. Os blocos sao numerados
+     * a partir de fromIndex; tarefas concorrentes so tocam o mesmo bloco por
+     * meio dos ponteiros atomicos de cada balde.
+     */
+    private static final class LevelState {
+        private final int[] array;
+        private final int fromIndex;
+        private final int toIndex;
+        private final Classifier classifier;
+        private ClassifyTask[] stripes;
+        private int[] bucketStarts;
+
+        // Por balde: (bloco de escrita << 32) | bloco de leitura. Blocos em
+        // [inicio da regiao, escrita) ja estao no balde certo e blocos em
+        // [escrita, leitura) ainda nao foram distribuidos.
+        private AtomicLongArray bucketPointers;
+        // Leituras em andamento por balde: uma escrita em bloco vazio espera
+        // que terminem, pois o bloco pode ser o que esta sendo lido
+        private AtomicIntegerArray pendingReads;
+
+        // O ultimo bloco pode passar do fim do intervalo; nesse caso fica aqui
+        private int[] overflowBlock;
+        private long overflowStart = Long.MAX_VALUE;
+        private int[][] spills;
+
+        private LevelState(int[] array, int fromIndex, int toIndex, Classifier classifier) {
+            this.array = array;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.classifier = classifier;
+        }
+
+        /**
+         * Primeiro bloco da regiao do balde: o inicio do balde arredondado para cima
+         */
+        private int regionStartBlock(int bucket) {
+            return (int) ((bucketStarts[bucket] - fromIndex + (long) BLOCK_SIZE - 1) / BLOCK_SIZE);
+        }
+
+        private void initializePointers(int fullBlocks) {
+            int bucketCount = classifier.bucketCount();
+            bucketPointers = new AtomicLongArray(bucketCount);
+            pendingReads = new AtomicIntegerArray(bucketCount);
+            spills = new int[bucketCount][];
+            for (int bucket = 0; bucket < bucketCount; bucket++) {
+                int writeBlock = regionStartBlock(bucket);
+                int readBlock = Math.min(Math.max(fullBlocks, writeBlock), regionStartBlock(bucket + 1));
+                bucketPointers.set(bucket, pack(writeBlock, readBlock));
+            }
+        }
+
+        /**
+         * Retira um bloco ainda nao distribuido da regiao do balde
+         *
+         * @return false se a regiao do balde nao tem mais blocos a distribuir
+         */
+        private boolean readBlock(int bucket, int[] target) {
+            long currentPointers = bucketPointers.get(bucket);
+            if (readBlockOf(currentPointers) <= writeBlockOf(currentPointers)) {
+                return false;
+            }
+            pendingReads.incrementAndGet(bucket);
+            try {
+                while (true) {
+                    long pointers = bucketPointers.get(bucket);
+                    int writeBlock = writeBlockOf(pointers);
+                    int readBlock = readBlockOf(pointers);
+                    if (readBlock <= writeBlock) {
+                        return false;
+                    }
+                    if (bucketPointers.compareAndSet(bucket, pointers, pack(writeBlock, readBlock - 1))) {
+                        System.arraycopy(array, blockStart(readBlock - 1), target, 0, BLOCK_SIZE);
+                        return true;
+                    }
+                }
+            } finally {
+                pendingReads.decrementAndGet(bucket);
+            }
+        }
+
+        /**
+         * Grava um bloco em uma posicao vazia da regiao do balde
+         */
+        private void writeEmptyBlock(int bucket, int block, int[] source) {
+            while (pendingReads.get(bucket) != 0) {
+                Thread.onSpinWait();
+            }
+            long start = fromIndex + (long) block * BLOCK_SIZE;
+            if (start + BLOCK_SIZE > toIndex) {
+                overflowBlock = source.clone();
+                overflowStart = start;
+            } else {
+                System.arraycopy(source, 0, array, (int) start, BLOCK_SIZE);
+            }
+        }
+
+        /**
+         * Elemento de um bloco ja distribuido, incluindo o bloco que passou do fim
+         */
+        private int placedElement(long position) {
+            return position >= overflowStart ? overflowBlock[(int) (position - overflowStart)] : array[(int) position];
+        }
+
+        private int blockStart(int block) {
+            return fromIndex + block * BLOCK_SIZE;
+        }
+
+        private static long pack(int writeBlock, int readBlock) {
+            return ((long) writeBlock << 32) | readBlock;
+        }
+
+        private static int writeBlockOf(long pointers) {
+            return (int) (pointers >>> 32);
+        }
+
+        private static int readBlockOf(long pointers) {
+            return (int) pointers;
+        }
+    }
+
+    /**
+     * Tarefa de uma fase de um nivel do samplesort
+     */
+    private abstract static class LevelTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        protected final LevelState level;
+        protected final SortingMetrics metrics;
+
+        LevelTask(LevelState level, boolean countOperations) {
+            this.level = level;
+            this.metrics = countOperations ? new SortingMetrics() : NoOpSortingMetrics.INSTANCE;
+        }
+
+        @Override
+        protected abstract void compute();
+    }
+
+    /**
+     * Classifica a faixa [stripeStart, stripeEnd) em buffers por balde. Cada
+     * buffer cheio e gravado como um bloco em writeEnd, que nunca passa dos
+     * elementos ja lidos; ao final a faixa tem os blocos cheios em
+     * [stripeStart, writeEnd) e os buffers guardam o restante.
+     */
+    private static final class ClassifyTask extends LevelTask {
+        private static final long serialVersionUID = 1L;
+
+        private final int stripeStart;
+        private final int stripeEnd;
+        private final int[] buffers;
+        private final int[] bufferSizes;
+        private final int[] bucketSizes;
+        private int writeEnd;
+
+        ClassifyTask(LevelState level, int stripeStart, int stripeEnd, boolean countOperations) {
+            super(level, countOperations);
+            int bucketCount = level.classifier.bucketCount();
+            this.stripeStart = stripeStart;
+            this.stripeEnd = stripeEnd;
+            this.buffers = new int[bucketCount * BLOCK_SIZE];
+            this.bufferSizes = new int[bucketCount];
+            this.bucketSizes = new int[bucketCount];
+        }
+
+        @Override
+        protected void compute() {
+            int[] array = level.array;
+            Classifier classifier = level.classifier;
+            byte[] bucketLabels = new byte[CLASSIFY_CHUNK_SIZE];
+            int writeIndex = stripeStart;
+
+            // Trechos que cabem no L1: o laco de classificacao nao depende dos
+            // buffers, entao a descida de varios elementos na arvore se sobrepoe
+            for (int chunkStart = stripeStart; chunkStart < stripeEnd; chunkStart += CLASSIFY_CHUNK_SIZE) {
+                int chunkLength = Math.min(CLASSIFY_CHUNK_SIZE, stripeEnd - chunkStart);
+                for (int offset = 0; offset < chunkLength; offset++) {
+                    bucketLabels[offset] = (byte) classifier.classify(array[chunkStart + offset]);
+                }
+                for (int offset = 0; offset < chunkLength; offset++) {
+                    int bucket = bucketLabels[offset] & 0xFF;
+                    int bufferSize = bufferSizes[bucket];
+                    buffers[bucket * BLOCK_SIZE + bufferSize] = array[chunkStart + offset];
+                    if (++bufferSize == BLOCK_SIZE) {
+                        System.arraycopy(buffers, bucket * BLOCK_SIZE, array, writeIndex, BLOCK_SIZE);
+                        writeIndex += BLOCK_SIZE;
+                        bufferSize = 0;
+                    }
+                    bufferSizes[bucket] = bufferSize;
+                    bucketSizes[bucket]++;
+                }
+            }
+            writeEnd = writeIndex;
+
+            int length = stripeEnd - stripeStart;
+            metrics.addComparisons((long) classifier.comparisonsPerElement() * length);
+            metrics.addSwaps(length);
+        }
+    }
+
+    /**
+     * Copia os blocos cheios fullBlocksAbove[i] para os blocos vazios emptyBlocks[i]
+     */
+    private static final class MoveBlocksTask extends LevelTask {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] emptyBlocks;
+        private final int[] fullBlocksAbove;
+        private final int firstPair;
+        private final int lastPair;
+
+        MoveBlocksTask(LevelState level, int[] emptyBlocks, int[] fullBlocksAbove, int firstPair, int lastPair,
+                boolean countOperations) {
+            super(level, countOperations);
+            this.emptyBlocks = emptyBlocks;
+            this.fullBlocksAbove = fullBlocksAbove;
+            this.firstPair = firstPair;
+            this.lastPair = lastPair;
+        }
+
+        @Override
+        protected void compute() {
+            for (int pair = firstPair; pair < lastPair; pair++) {
+                System.arraycopy(level.array, level.blockStart(fullBlocksAbove[pair]),
+                        level.array, level.blockStart(emptyBlocks[pair]), BLOCK_SIZE);
+            }
+            metrics.addSwaps((long) (lastPair - firstPair) * BLOCK_SIZE);
+        }
+    }
+
+    /**
+     * Permutacao de blocos: retira blocos nao distribuidos dos baldes (a partir
+     * de firstBucket, em ordem circular) e leva cada um para a proxima posicao
+     * de escrita do seu balde. Se a posicao guarda um bloco nao distribuido,
+     * ele e trocado pelo bloco em maos e passa a ser o proximo a distribuir.
+     */
+    private static final class PermuteTask extends LevelTask {
+        private static final long serialVersionUID = 1L;
+
+        private final int firstBucket;
+
+        PermuteTask(LevelState level, int firstBucket, boolean countOperations) {
+            super(level, countOperations);
+            this.firstBucket = firstBucket;
+        }
+
+        @Override
+        protected void compute() {
+            int[] array = level.array;
+            Classifier classifier = level.classifier;
+            int bucketCount = classifier.bucketCount();
+            int[] currentBlock = new int[BLOCK_SIZE];
+            int[] swapBlock = new int[BLOCK_SIZE];
+            long blockMoves = 0;
+            long classifications = 0;
+
+            for (int offset = 0; offset < bucketCount; offset++) {
+                int sourceBucket = (firstBucket + offset) % bucketCount;
+                while (level.readBlock(sourceBucket, currentBlock)) {
+                    blockMoves++;
+                    int destination = classifier.classify(currentBlock[0]);
+                    classifications++;
+
+                    while (true) {
+                        long pointers = level.bucketPointers.getAndAdd(destination, 1L << 32);
+                        int writeBlock = LevelState.writeBlockOf(pointers);
+                        if (writeBlock >= LevelState.readBlockOf(pointers)) {
+                            level.writeEmptyBlock(destination, writeBlock, currentBlock);
+                            blockMoves++;
+                            break;
+                        }
+
+                        // Posicao com bloco nao distribuido: se ja e do balde, fica onde esta
+                        int blockStart = level.blockStart(writeBlock);
+                        int occupantBucket = classifier.classify(array[blockStart]);
+                        classifications++;
+                        if (occupantBucket == destination) {
+                            continue;
+                        }
+                        System.arraycopy(array, blockStart, swapBlock, 0, BLOCK_SIZE);
+                        System.arraycopy(currentBlock, 0, array, blockStart, BLOCK_SIZE);
+                        blockMoves += 2;
+                        int[] placedBlock = currentBlock;
+                        currentBlock = swapBlock;
+                        swapBlock = placedBlock;
+                        destination = occupantBucket;
+                    }
+                }
+            }
+
+            metrics.addComparisons(classifications * classifier.comparisonsPerElement());
+            metrics.addSwaps(blockMoves * BLOCK_SIZE);
+        }
+    }
+
+    /**
+     * Guarda a parte do ultimo bloco de cada balde que passou do fim do balde
+     * (ela ocupa a borda inicial do balde seguinte)
+     */
+    private static final class SaveSpillTask extends LevelTask {
+        private static final long serialVersionUID = 1L;
+
+        private final int firstBucket;
+        private final int lastBucket;
+
+        SaveSpillTask(LevelState level, int firstBucket, int lastBucket, boolean countOperations) {
+            super(level, countOperations);
+            this.firstBucket = firstBucket;
+            this.lastBucket = lastBucket;
+        }
+
+        @Override
+        protected void compute() {
+            for (int bucket = firstBucket; bucket < lastBucket; bucket++) {
+                long placedEnd = level.fromIndex
+                        + (long) LevelState.writeBlockOf(level.bucketPointers.get(bucket)) * BLOCK_SIZE;
+                long spillStart = Math.max(level.bucketStarts[bucket + 1],
+                        level.fromIndex + (long) level.regionStartBlock(bucket) * BLOCK_SIZE);
+                if (placedEnd <= spillStart) {
+                    continue;
+                }
+
+                int[] spill = new int[(int) (placedEnd - spillStart)];
+                for (int index = 0; index < spill.length; index++) {
+                    spill[index] = level.placedElement(spillStart + index);
+                }
+                level.spills[bucket] = spill;
+                metrics.addSwaps(spill.length);
+            }
+        }
+    }
+
+    /**
+     * Preenche as bordas de cada balde (o inicio antes do primeiro bloco e o
+     * fim depois do ultimo) com a sobra salva e com os buffers de todas as faixas
+     */
+    private static final class FillBucketsTask extends LevelTask {
+        private static final long serialVersionUID = 1L;
+
+        private final int firstBucket;
+        private final int lastBucket;
+
+        FillBucketsTask(LevelState level, int firstBucket, int lastBucket, boolean countOperations) {
+            super(level, countOperations);
+            this.firstBucket = firstBucket;
+            this.lastBucket = lastBucket;
+        }
+
+        @Override
+        protected void compute() {
+            int[] array = level.array;
+            for (int bucket = firstBucket; bucket < lastBucket; bucket++) {
+                int bucketStart = level.bucketStarts[bucket];
+                int bucketEnd = level.bucketStarts[bucket + 1];
+                long regionStart = level.fromIndex + (long) level.regionStartBlock(bucket) * BLOCK_SIZE;
+                long placedEnd = level.fromIndex
+                        + (long) LevelState.writeBlockOf(level.bucketPointers.get(bucket)) * BLOCK_SIZE;
+
+                // Parte do bloco que passou do fim do intervalo e ainda pertence ao balde
+                for (long position = Math.max(level.overflowStart, regionStart);
+                        position < Math.min(placedEnd, bucketEnd); position++) {
+                    array[(int) position] = level.placedElement(position);
+                }
+
+                int headEnd = (int) Math.min(regionStart, bucketEnd);
+                int tailStart = (int) Math.min(Math.max(placedEnd, headEnd), bucketEnd);
+                int[] leftovers = collectLeftovers(bucket, headEnd - bucketStart + bucketEnd - tailStart);
+                System.arraycopy(leftovers, 0, array, bucketStart, headEnd - bucketStart);
+                System.arraycopy(leftovers, headEnd - bucketStart, array, tailStart, bucketEnd - tailStart);
+                metrics.addSwaps(leftovers.length);
+            }
+        }
+
+        /**
+         * Sobra do balde anterior a este nivel e conteudo dos buffers das faixas
+         */
+        private int[] collectLeftovers(int bucket, int count) {
+            int[] leftovers = new int[count];
+            int size = 0;
+            int[] spill = level.spills[bucket];
+            if (spill != null) {
+                System.arraycopy(spill, 0, leftovers, 0, spill.length);
+                size = spill.length;
+            }
+            for (ClassifyTask stripe : level.stripes) {
+                int bufferSize = stripe.bufferSizes[bucket];
+                System.arraycopy(stripe.buffers, bucket * BLOCK_SIZE, leftovers, size, bufferSize);
+                size += bufferSize;
+            }
+            return leftovers;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Samplesort Paralelo In-Place (M=" + threshold + ", " + pool.getParallelism() + " threads)";
+    }
+}
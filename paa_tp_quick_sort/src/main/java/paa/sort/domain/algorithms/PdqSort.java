@@ -0,0 +1,354 @@
+package paa.sort.domain.algorithms;
+
+import paa.sort.domain.SortingAlgorithm;
+import paa.sort.domain.algorithms.basecase.BaseCaseSort;
+import paa.sort.domain.algorithms.basecase.InsertionSortBaseCase;
+import paa.sort.domain.performance.SortingMetrics;
+
+import java.util.Objects;
+
+/**
+ * Implementacao do pattern-defeating quicksort (pdqsort, Orson Peters), que
+ * combina as defesas que cada Quicksort deste projeto tem isoladamente:
+ * - pivo pela mediana-de-tres, ou pelo ninther (mediana de tres medianas)
+ *   acima de NINTHER_THRESHOLD elementos;
+ * - particionamento em blocos sem desvios, como no BlockQuickSort;
+ * - se o pivo e igual ao elemento anterior ao subarray, os iguais a ele sao
+ *   separados a esquerda e descartados, o que torna entradas com muitas
+ *   repeticoes lineares;
+ * - se o particionamento nao trocou nada, tenta terminar os dois lados com um
+ *   Insertion Sort limitado a PARTIAL_INSERTION_LIMIT movimentos (entradas
+ *   ordenadas e quase ordenadas ficam O(n));
+ * - particoes muito desbalanceadas (menos de 1/8 de um lado) embaralham
+ *   alguns elementos para quebrar padroes e, depois de log2(n) delas, o
+ *   subarray vai para o Heapsort, garantindo O(n log n).
+ *
+ * Internamente os intervalos sao [begin, end), como no original.
+ */
+public class PdqSort implements SortingAlgorithm {
+    private static final int NINTHER_THRESHOLD = 128;
+    private static final int PARTIAL_INSERTION_LIMIT = 8;
+    private static final int BLOCK_SIZE = 64;
+    // Abaixo disso a mediana-de-tres nao deixa sentinelas para os lacos do particionamento
+    private static final int MIN_PARTITION_SIZE = 4;
+
+    private final int threshold;
+    private final int baseCaseLimit;
+    private final BaseCaseSort baseCase;
+
+    public PdqSort(int threshold) {
+        this(threshold, new InsertionSortBaseCase());
+    }
+
+    public PdqSort(int threshold, BaseCaseSort baseCase) {
+        this.threshold = threshold;
+        this.baseCaseLimit = Math.max(threshold, MIN_PARTITION_SIZE - 1);
+        this.baseCase = baseCase;
+    }
+
+    @Override
+    public void sort(int[] array, int fromIndex, int toIndex, SortingMetrics metrics) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        int size = toIndex - fromIndex;
+        if (size < 2) {
+            return;
+        }
+        int badPartitionsAllowed = 31 - Integer.numberOfLeadingZeros(size);
+        pdqSortLoop(array, fromIndex, toIndex, badPartitionsAllowed, true,
+                new int[BLOCK_SIZE], new int[BLOCK_SIZE], metrics);
+    }
+
+    private void pdqSortLoop(int[] array, int begin, int end, int badPartitionsAllowed, boolean leftmost,
+                             int[] leftOffsets, int[] rightOffsets, SortingMetrics metrics) {
+        while (true) {
+            int size = end - begin;
+
+            // Se o subarray e pequeno, usa o caso base (Insertion Sort por padrao)
+            metrics.incrementComparisons(); // Comparacao: size <= baseCaseLimit
+            if (size <= baseCaseLimit) {
+                baseCase.sort(array, begin, end - 1, metrics);
+                return;
+            }
+
+            // Pivo vai para array[begin]
+            int halfSize = size / 2;
+            if (size > NINTHER_THRESHOLD) {
+                sort3(array, begin, begin + halfSize, end - 1, metrics);
+                sort3(array, begin + 1, begin + halfSize - 1, end - 2, metrics);
+                sort3(array, begin + 2, begin + halfSize + 1, end - 3, metrics);
+                sort3(array, begin + halfSize - 1, begin + halfSize, begin + halfSize + 1, metrics);
+                swap(array, begin, begin + halfSize, metrics);
+            } else {
+                sort3(array, begin + halfSize, begin, end - 1, metrics);
+            }
+
+            // O elemento antes do subarray e <= a todos dele; se for igual ao pivo,
+            // nenhum elemento e menor e basta separar os iguais
+            if (!leftmost && !less(array[begin - 1], array[begin], metrics)) {
+                begin = partitionLeft(array, begin, end, metrics) + 1;
+                continue;
+            }
+
+            long partitionResult = partitionRight(array, begin, end, leftOffsets, rightOffsets, metrics);
+            int pivotIndex = (int) partitionResult;
+            boolean alreadyPartitioned = (partitionResult >>> 32) != 0;
+
+            int leftSize = pivotIndex - begin;
+            int rightSize = end - (pivotIndex + 1);
+            boolean highlyUnbalanced = leftSize < size / 8 || rightSize < size / 8;
+
+            if (highlyUnbalanced) {
+                if (--badPartitionsAllowed == 0) {
+                    // Particionamentos ruins demais: garante O(n log n) com Heapsort
+                    HeapSort.sort(array, begin, end - 1, metrics);
+                    return;
+                }
+
+                // Troca alguns elementos de posicao para quebrar o padrao da entrada
+                if (leftSize > baseCaseLimit) {
+                    swap(array, begin, begin + leftSize / 4, metrics);
+                    swap(array, pivotIndex - 1, pivotIndex - leftSize / 4, metrics);
+                    if (leftSize > NINTHER_THRESHOLD) {
+                        swap(array, begin + 1, begin + (leftSize / 4 + 1), metrics);
+                        swap(array, begin + 2, begin + (leftSize / 4 + 2), metrics);
+                        swap(array, pivotIndex - 2, pivotIndex - (leftSize / 4 + 1), metrics);
+                        swap(array, pivotIndex - 3, pivotIndex - (leftSize / 4 + 2), metrics);
+                    }
+                }
+                if (rightSize > baseCaseLimit) {
+                    swap(array, pivotIndex + 1, pivotIndex + (1 + rightSize / 4), metrics);
+                    swap(array, end - 1, end - rightSize / 4, metrics);
+                    if (rightSize > NINTHER_THRESHOLD) {
+                        swap(array, pivotIndex + 2, pivotIndex + (2 + rightSize / 4), metrics);
+                        swap(array, pivotIndex + 3, pivotIndex + (3 + rightSize / 4), metrics);
+                        swap(array, end - 2, end - (1 + rightSize / 4), metrics);
+                        swap(array, end - 3, end - (2 + rightSize / 4), metrics);
+                    }
+                }
+            } else if (alreadyPartitioned
+                    && partialInsertionSort(array, begin, pivotIndex, metrics)
+                    && partialInsertionSort(array, pivotIndex + 1, end, metrics)) {
+                // Nada foi trocado e os dois lados ja estavam quase ordenados
+                return;
+            }
+
+            // Recursao a esquerda, laco a direita
+            pdqSortLoop(array, begin, pivotIndex, badPartitionsAllowed, leftmost, leftOffsets, rightOffsets, metrics);
+            begin = pivotIndex + 1;
+            leftmost = false;
+        }
+    }
+
+    /**
+     * Particiona array[begin..end-1] com o pivo em array[begin], deixando os
+     * menores a esquerda e os maiores ou iguais a direita. As comparacoes dos
+     * blocos nao geram desvios (ver BlockQuickSort).
+     *
+     * @return Posicao final do pivo nos 32 bits baixos e, no bit 32, se o
+     *         subarray ja estava particionado (nenhuma troca foi necessaria)
+     */
+    private long partitionRight(int[] array, int begin, int end, int[] leftOffsets, int[] rightOffsets,
+                                SortingMetrics metrics) {
+        int pivotValue = array[begin];
+        int first = begin;
+        int last = end;
+
+        // A mediana garante um elemento >= pivo antes do fim, entao este laco para sozinho
+        while (less(array[++first], pivotValue, metrics)) {
+        }
+
+        // Se nenhum elemento foi pulado, nao ha sentinela a direita e o limite e necessario
+        if (first - 1 == begin) {
+            while (first < last && !less(array[--last], pivotValue, metrics)) {
+            }
+        } else {
+            while (!less(array[--last], pivotValue, metrics)) {
+            }
+        }
+
+        boolean alreadyPartitioned = first >= last;
+        if (!alreadyPartitioned) {
+            swap(array, first, last, metrics);
+            first++;
+
+            // Desconhecidos: array[first..last-1]. Os offsets da esquerda sao
+            // relativos a leftBase e os da direita contam para tras a partir de rightBase
+            int leftBase = first;
+            int rightBase = last;
+            int leftCount = 0;
+            int rightCount = 0;
+            int leftStart = 0;
+            int rightStart = 0;
+
+            while (first < last) {
+                int unknownCount = last - first;
+                int leftSplit = leftCount == 0 ? (rightCount == 0 ? unknownCount / 2 : unknownCount) : 0;
+                int rightSplit = rightCount == 0 ? unknownCount - leftSplit : 0;
+
+                // Grava o offset sempre e so avanca se o elemento estiver do lado errado
+                int leftScan = Math.min(leftSplit, BLOCK_SIZE);
+                for (int offset = 0; offset < leftScan; offset++) {
+                    leftOffsets[leftCount] = offset;
+                    leftCount += array[first++] >= pivotValue ? 1 : 0;
+                }
+                int rightScan = Math.min(rightSplit, BLOCK_SIZE);
+                for (int offset = 1; offset <= rightScan; offset++) {
+                    rightOffsets[rightCount] = offset;
+                    rightCount += array[--last] < pivotValue ? 1 : 0;
+                }
+                metrics.addComparisons(leftScan + rightScan);
+
+                // Troca em lote os pares de elementos fora do lugar
+                int swapCount = Math.min(leftCount, rightCount);
+                for (int pair = 0; pair < swapCount; pair++) {
+                    int leftIndex = leftBase + leftOffsets[leftStart + pair];
+                    int rightIndex = rightBase - rightOffsets[rightStart + pair];
+                    int tempValue = array[leftIndex];
+                    array[leftIndex] = array[rightIndex];
+                    array[rightIndex] = tempValue;
+                }
+                metrics.addSwaps(swapCount);
+
+                leftCount -= swapCount;
+                rightCount -= swapCount;
+                leftStart += swapCount;
+                rightStart += swapCount;
+                if (leftCount == 0) {
+                    leftStart = 0;
+                    leftBase = first;
+                }
+                if (rightCount == 0) {
+                    rightStart = 0;
+                    rightBase = last;
+                }
+            }
+
+            // Sobraram elementos fora do lugar em um dos lados: leva-os para a fronteira
+            if (leftCount > 0) {
+                while (leftCount-- > 0) {
+                    swap(array, leftBase + leftOffsets[leftStart + leftCount], --last, metrics);
+                }
+                first = last;
+            }
+            if (rightCount > 0) {
+                while (rightCount-- > 0) {
+                    swap(array, rightBase - rightOffsets[rightStart + rightCount], first, metrics);
+                    first++;
+                }
+            }
+        }
+
+        // Coloca o pivo na posicao final
+        int pivotIndex = first - 1;
+        array[begin] = array[pivotIndex];
+        array[pivotIndex] = pivotValue;
+        metrics.incrementSwaps();
+
+        return (alreadyPartitioned ? 1L << 32 : 0L) | pivotIndex;
+    }
+
+    /**
+     * Particiona array[begin..end-1] com o pivo em array[begin], deixando os
+     * menores ou iguais a esquerda e os maiores a direita. So e chamado quando
+     * nenhum elemento e menor que o pivo, entao a esquerda fica so com iguais.
+     *
+     * @return Posicao final do pivo
+     */
+    private int partitionLeft(int[] array, int begin, int end, SortingMetrics metrics) {
+        int pivotValue = array[begin];
+        int first = begin;
+        int last = end;
+
+        while (less(pivotValue, array[--last], metrics)) {
+        }
+
+        if (last + 1 == end) {
+            while (first < last && !less(pivotValue, array[++first], metrics)) {
+            }
+        } else {
+            while (!less(pivotValue, array[++first], metrics)) {
+            }
+        }
+
+        while (first < last) {
+            swap(array, first, last, metrics);
+            while (less(pivotValue, array[--last], metrics)) {
+            }
+            while (!less(pivotValue, array[++first], metrics)) {
+            }
+        }
+
+        // Coloca o pivo na posicao final
+        array[begin] = array[last];
+        array[last] = pivotValue;
+        metrics.incrementSwaps();
+        return last;
+    }
+
+    /**
+     * Insertion Sort que desiste depois de PARTIAL_INSERTION_LIMIT movimentos
+     *
+     * @return true se array[begin..end-1] ficou ordenado
+     */
+    private boolean partialInsertionSort(int[] array, int begin, int end, SortingMetrics metrics) {
+        if (begin == end) {
+            return true;
+        }
+
+        int movedCount = 0;
+        for (int currentIndex = begin + 1; currentIndex < end; currentIndex++) {
+            int valueToInsert = array[currentIndex];
+            if (less(valueToInsert, array[currentIndex - 1], metrics)) {
+                int insertionIndex = currentIndex;
+                do {
+                    array[insertionIndex] = array[insertionIndex - 1];
+                    metrics.incrementSwaps(); // Movimento/troca
+                    insertionIndex--;
+                } while (insertionIndex != begin && less(valueToInsert, array[insertionIndex - 1], metrics));
+
+                array[insertionIndex] = valueToInsert;
+                metrics.incrementSwaps(); // Insercao do valueToInsert na posicao correta
+                movedCount += currentIndex - insertionIndex;
+            }
+
+            if (movedCount > PARTIAL_INSERTION_LIMIT) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Ordena os tres elementos nas posicoes informadas
+     */
+    private void sort3(int[] array, int firstIndex, int secondIndex, int thirdIndex, SortingMetrics metrics) {
+        sort2(array, firstIndex, secondIndex, metrics);
+        sort2(array, secondIndex, thirdIndex, metrics);
+        sort2(array, firstIndex, secondIndex, metrics);
+    }
+
+    private void sort2(int[] array, int firstIndex, int secondIndex, SortingMetrics metrics) {
+        if (less(array[secondIndex], array[firstIndex], metrics)) {
+            swap(array, firstIndex, secondIndex, metrics);
+        }
+    }
+
+    private boolean less(int firstValue, int secondValue, SortingMetrics metrics) {
+        metrics.incrementComparisons();
+        return firstValue < secondValue;
+    }
+
+    private void swap(int[] array, int firstIndex, int secondIndex, SortingMetrics metrics) {
+        if (firstIndex != secondIndex) { // So conta como troca se as posicoes forem diferentes
+            metrics.incrementSwaps();
+            int tempValue = array[firstIndex];
+            array[firstIndex] = array[secondIndex];
+            array[secondIndex] = tempValue;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Pdqsort (M=" + threshold + ", blocos de " + BLOCK_SIZE + baseCase.getNameSuffix() + ")";
+    }
+}
@@ -0,0 +1,267 @@
+package paa.sort.domain.algorithms;
+
+import paa.sort.domain.performance.NoOpSortingMetrics;
+import paa.sort.domain.performance.SortingMetrics;
+
+import java.util.Objects;
+
+/**
+ * Operacoes de selecao baseadas no particionamento do Quicksort, para quando
+ * so e preciso o k-esimo elemento, os k maiores ou os k menores ordenados:
+ * - select: coloca o k-esimo menor elemento na posicao k em O(n) medio;
+ * - topK: devolve os k maiores em ordem decrescente;
+ * - partialSort: ordena apenas as k primeiras posicoes.
+ *
+ * O pivo e a mediana-de-tres e o particionamento e em tres vias
+ * (Bentley-McIlroy), como em ThreeWayQuickSort. Seguindo o Introselect, se a
+ * profundidade passar de 2*log2(n) o pivo passa a ser a mediana das medianas
+ * de grupos de 5, o que garante O(n) no pior caso.
+ */
+public class QuickSelect {
+    private static final int MEDIAN_GROUP_SIZE = 5;
+
+    private final int threshold;
+    private final IntroSort introSort;
+
+    public QuickSelect(int threshold) {
+        this.threshold = threshold;
+        this.introSort = new IntroSort(threshold);
+    }
+
+    /**
+     * Reorganiza o array para que array[k] seja o k-esimo menor elemento
+     * (a partir de 0), com os menores ou iguais antes e os maiores ou iguais depois
+     * @param array Array a ser reorganizado in-place
+     * @param k Posicao procurada
+     * @return O k-esimo menor elemento
+     */
+    public int select(int[] array, int k) {
+        return select(array, k, NoOpSortingMetrics.INSTANCE);
+    }
+
+    /**
+     * Igual a select(array, k), coletando metricas
+     * @throws IndexOutOfBoundsException se k nao for uma posicao valida do array
+     */
+    public int select(int[] array, int k, SortingMetrics metrics) {
+        Objects.checkIndex(k, array.length);
+        selectRange(array, 0, array.length - 1, k, IntroSort.depthLimit(array.length), metrics);
+        return array[k];
+    }
+
+    /**
+     * Retorna os k maiores elementos em ordem decrescente, sem alterar o array
+     * @param array Array de entrada
+     * @param k Quantidade de elementos
+     * @return Array com os k maiores elementos, do maior para o menor
+     */
+    public int[] topK(int[] array, int k) {
+        return topK(array, k, NoOpSortingMetrics.INSTANCE);
+    }
+
+    /**
+     * Igual a topK(array, k), coletando metricas
+     * @throws IndexOutOfBoundsException se k for negativo ou maior que o array
+     */
+    public int[] topK(int[] array, int k, SortingMetrics metrics) {
+        Objects.checkFromToIndex(0, k, array.length);
+        int[] topElements = new int[k];
+        if (k == 0) {
+            return topElements;
+        }
+
+        // Seleciona a posicao n-k numa copia: as k ultimas posicoes ficam com os maiores
+        int[] workingArray = array.clone();
+        int firstTopIndex = workingArray.length - k;
+        selectRange(workingArray, 0, workingArray.length - 1, firstTopIndex,
+                IntroSort.depthLimit(workingArray.length), metrics);
+        introSort.sort(workingArray, firstTopIndex + 1, workingArray.length, metrics);
+
+        for (int index = 0; index < k; index++) {
+            topElements[index] = workingArray[workingArray.length - 1 - index];
+        }
+        return topElements;
+    }
+
+    /**
+     * Coloca os k menores elementos, em ordem crescente, em array[0..k-1].
+     * A ordem das demais posicoes e indefinida.
+     * @param array Array a ser reorganizado in-place
+     * @param k Quantidade de elementos ordenados no inicio
+     */
+    public void partialSort(int[] array, int k) {
+        partialSort(array, k, NoOpSortingMetrics.INSTANCE);
+    }
+
+    /**
+     * Igual a partialSort(array, k), coletando metricas
+     * @throws IndexOutOfBoundsException se k for negativo ou maior que o array
+     */
+    public void partialSort(int[] array, int k, SortingMetrics metrics) {
+        Objects.checkFromToIndex(0, k, array.length);
+        if (k == 0) {
+            return;
+        }
+
+        // array[k-1] fica no lugar certo; basta ordenar as posicoes anteriores
+        selectRange(array, 0, array.length - 1, k - 1, IntroSort.depthLimit(array.length), metrics);
+        introSort.sort(array, 0, k - 1, metrics);
+    }
+
+    /**
+     * Quickselect iterativo em array[low..high]: particiona e continua apenas
+     * no lado que contem a posicao k
+     */
+    private void selectRange(int[] array, int low, int high, int k, int remainingDepth, SortingMetrics metrics) {
+        while (true) {
+            metrics.incrementComparisons(); // Comparacao: low < high
+            if (low >= high) {
+                return;
+            }
+
+            // Se o subarray e pequeno, usa Insertion Sort
+            int subarraySize = high - low + 1;
+            metrics.incrementComparisons(); // Comparacao: subarraySize <= threshold
+            if (subarraySize <= threshold) {
+                InsertionSort.sort(array, low, high, metrics);
+                return;
+            }
+
+            int pivotIndex;
+            if (remainingDepth > 0) {
+                pivotIndex = medianOfThree(array, low, high, metrics);
+                remainingDepth--;
+            } else {
+                // Particionamentos ruins demais: pivo com garantia de linearidade
+                pivotIndex = medianOfMedians(array, low, high, metrics);
+            }
+            swap(array, low, pivotIndex, metrics); // Move o pivo para o inicio
+
+            int[] equalRange = partition(array, low, high, metrics);
+            if (k < equalRange[0]) {
+                high = equalRange[0] - 1;
+            } else if (k > equalRange[1]) {
+                low = equalRange[1] + 1;
+            } else {
+                return; // k caiu no bloco de elementos iguais ao pivo
+            }
+        }
+    }
+
+    /**
+     * Mediana das medianas: ordena grupos de 5, junta as medianas no inicio do
+     * subarray e seleciona a mediana delas recursivamente
+     *
+     * @return Indice de um pivo com pelo menos 30% dos elementos de cada lado
+     */
+    private int medianOfMedians(int[] array, int low, int high, SortingMetrics metrics) {
+        int medianCount = 0;
+        for (int groupStart = low; groupStart <= high; groupStart += MEDIAN_GROUP_SIZE) {
+            int groupEnd = Math.min(groupStart + MEDIAN_GROUP_SIZE - 1, high);
+            InsertionSort.sort(array, groupStart, groupEnd, metrics);
+            swap(array, low + medianCount, groupStart + (groupEnd - groupStart) / 2, metrics);
+            medianCount++;
+        }
+
+        int medianIndex = low + (medianCount - 1) / 2;
+        selectRange(array, low, low + medianCount - 1, medianIndex, 0, metrics);
+        return medianIndex;
+    }
+
+    /**
+     * Encontra a mediana de tres elementos (primeiro, meio e ultimo)
+     * e retorna o indice do elemento mediano
+     */
+    private int medianOfThree(int[] array, int low, int high, SortingMetrics metrics) {
+        int midIndex = low + (high - low) / 2;
+
+        if (less(array[midIndex], array[low], metrics)) {
+            swap(array, low, midIndex, metrics);
+        }
+        if (less(array[high], array[midIndex], metrics)) {
+            swap(array, midIndex, high, metrics);
+        }
+        if (less(array[midIndex], array[low], metrics)) {
+            swap(array, low, midIndex, metrics);
+        }
+
+        return midIndex;
+    }
+
+    /**
+     * Particionamento de Bentley-McIlroy com pivo em array[low], o mesmo de
+     * ThreeWayQuickSort
+     *
+     * @return Intervalo [inicio, fim] ocupado pelos elementos iguais ao pivo
+     */
+    private int[] partition(int[] array, int low, int high, SortingMetrics metrics) {
+        int pivotValue = array[low];
+        int leftIndex = low;
+        int rightIndex = high + 1;
+        int leftEqualEnd = low;       // array[low .. leftEqualEnd] == pivo
+        int rightEqualStart = high + 1; // array[rightEqualStart .. high] == pivo
+
+        while (true) {
+            while (less(array[++leftIndex], pivotValue, metrics)) {
+                if (leftIndex == high) {
+                    break;
+                }
+            }
+            while (less(pivotValue, array[--rightIndex], metrics)) {
+                if (rightIndex == low) {
+                    break;
+                }
+            }
+
+            // Ponteiros se encontraram em um elemento igual ao pivo
+            if (leftIndex == rightIndex && equal(array[leftIndex], pivotValue, metrics)) {
+                swap(array, ++leftEqualEnd, leftIndex, metrics);
+            }
+            if (leftIndex >= rightIndex) {
+                break;
+            }
+
+            swap(array, leftIndex, rightIndex, metrics);
+            if (equal(array[leftIndex], pivotValue, metrics)) {
+                swap(array, ++leftEqualEnd, leftIndex, metrics);
+            }
+            if (equal(array[rightIndex], pivotValue, metrics)) {
+                swap(array, --rightEqualStart, rightIndex, metrics);
+            }
+        }
+
+        // Traz os elementos iguais das extremidades para o centro
+        leftIndex = rightIndex + 1;
+        for (int equalIndex = low; equalIndex <= leftEqualEnd; equalIndex++) {
+            swap(array, equalIndex, rightIndex--, metrics);
+        }
+        for (int equalIndex = high; equalIndex >= rightEqualStart; equalIndex--) {
+            swap(array, equalIndex, leftIndex++, metrics);
+        }
+
+        return new int[] { rightIndex + 1, leftIndex - 1 };
+    }
+
+    private boolean less(int firstValue, int secondValue, SortingMetrics metrics) {
+        metrics.incrementComparisons();
+        return firstValue < secondValue;
+    }
+
+    private boolean equal(int firstValue, int secondValue, SortingMetrics metrics) {
+        metrics.incrementComparisons();
+        return firstValue == secondValue;
+    }
+
+    private void swap(int[] array, int firstIndex, int secondIndex, SortingMetrics metrics) {
+        if (firstIndex != secondIndex) { // So conta como troca se as posicoes forem diferentes
+            metrics.incrementSwaps();
+            int tempValue = array[firstIndex];
+            array[firstIndex] = array[secondIndex];
+            array[secondIndex] = tempValue;
+        }
+    }
+
+    public String getName() {
+        return "Quickselect (M=" + threshold + ", Mediana-de-3, Introselect)";
+    }
+}
@@ -3,24 +3,17 @@ package paa.sort.domain.algorithms;
 import paa.sort.domain.SortingAlgorithm;
 import paa.sort.domain.performance.SortingMetrics;
 
+import java.util.Objects;
+
 /**
  * Implementacao do Quicksort recursivo tradicional
  */
 public class RecursiveQuickSort implements SortingAlgorithm {
 
     @Override
-    public int[] sort(int[] array) {
-        return sort(array, new SortingMetrics());
-    }
-
-    @Override
-    public int[] sort(int[] array, SortingMetrics metrics) {
-        if (array == null || array.length <= 1) {
-            return array;
-        }
-        int[] sortedArray = array.clone();
-        quickSort(sortedArray, 0, sortedArray.length - 1, metrics);
-        return sortedArray;
+    public void sort(int[] array, int fromIndex, int toIndex, SortingMetrics metrics) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        quickSort(array, fromIndex, toIndex - 1, metrics);
     }
 
     private void quickSort(int[] array, int low, int high, SortingMetrics metrics) {
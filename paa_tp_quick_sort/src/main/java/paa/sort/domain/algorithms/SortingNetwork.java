@@ -0,0 +1,218 @@
+package paa.sort.domain.algorithms;
+
+import paa.sort.domain.performance.NoOpSortingMetrics;
+import paa.sort.domain.performance.SortingMetrics;
+
+/**
+ * Redes de ordenacao para subarrays de 2 a 16 elementos, alternativa ao
+ * Insertion Sort no caso base dos Quicksorts hibridos.
+ *
+ * A sequencia de comparadores depende apenas do tamanho, nao dos dados, e cada
+ * comparador e um par Math.min/Math.max, que o JIT compila sem desvios
+ * (cmov). Em dados aleatorios isso elimina os erros de predicao do laco do
+ * Insertion Sort. As redes tem o menor numero de comparadores conhecido,
+ * exceto a de 13 elementos (46, contra 45 da melhor conhecida); as de 13 a 15
+ * sao a de 16 sem as ultimas entradas.
+ */
+public class SortingNetwork {
+    /** Maior subarray coberto pelas redes; acima disso usa Insertion Sort */
+    public static final int MAX_SIZE = 16;
+
+    // NETWORKS[n]: pares (i, j), i < j, relativos ao inicio do subarray, agrupados por camada
+    private static final int[][] NETWORKS = {
+            {},
+            {},
+            // 2 elementos: 1 comparador, 1 camada
+            {
+                0, 1
+            },
+            // 3 elementos: 3 comparadores, 3 camadas
+            {
+                0, 2,
+                0, 1,
+                1, 2
+            },
+            // 4 elementos: 5 comparadores, 3 camadas
+            {
+                0, 2, 1, 3,
+                0, 1, 2, 3,
+                1, 2
+            },
+            // 5 elementos: 9 comparadores, 5 camadas
+            {
+                0, 3, 1, 4,
+                0, 2, 1, 3,
+                0, 1, 2, 4,
+                1, 2, 3, 4,
+                2, 3
+            },
+            // 6 elementos: 12 comparadores, 5 camadas
+            {
+                0, 5, 1, 3, 2, 4,
+                1, 2, 3, 4,
+                0, 3, 2, 5,
+                0, 1, 2, 3, 4, 5,
+                1, 2, 3, 4
+            },
+            // 7 elementos: 16 comparadores, 6 camadas
+            {
+                0, 6, 2, 3, 4, 5,
+                0, 2, 1, 4, 3, 6,
+                0, 1, 2, 5, 3, 4,
+                1, 2, 4, 6,
+                2, 3, 4, 5,
+                1, 2, 3, 4, 5, 6
+            },
+            // 8 elementos: 19 comparadores, 6 camadas
+            {
+                0, 2, 1, 3, 4, 6, 5, 7,
+                0, 4, 1, 5, 2, 6, 3, 7,
+                0, 1, 2, 3, 4, 5, 6, 7,
+                2, 4, 3, 5,
+                1, 4, 3, 6,
+                1, 2, 3, 4, 5, 6
+            },
+            // 9 elementos: 25 comparadores, 7 camadas
+            {
+                0, 3, 1, 7, 2, 5, 4, 8,
+                0, 7, 2, 4, 3, 8, 5, 6,
+                0, 2, 1, 3, 4, 5, 7, 8,
+                1, 4, 3, 6, 5, 7,
+                0, 1, 2, 4, 3, 5, 6, 8,
+                2, 3, 4, 5, 6, 7,
+                1, 2, 3, 4, 5, 6
+            },
+            // 10 elementos: 29 comparadores, 8 camadas
+            {
+                0, 8, 1, 9, 2, 7, 3, 5, 4, 6,
+                0, 2, 1, 4, 5, 8, 7, 9,
+                0, 3, 2, 4, 5, 7, 6, 9,
+                0, 1, 3, 6, 8, 9,
+                1, 5, 2, 3, 4, 8, 6, 7,
+                1, 2, 3, 5, 4, 6, 7, 8,
+                2, 3, 4, 5, 6, 7,
+                3, 4, 5, 6
+            },
+            // 11 elementos: 35 comparadores, 8 camadas
+            {
+                0, 9, 1, 6, 2, 4, 3, 7, 5, 8,
+                0, 1, 3, 5, 4, 10, 6, 9, 7, 8,
+                1, 3, 2, 5, 4, 7, 8, 10,
+                0, 4, 1, 2, 3, 7, 5, 9, 6, 8,
+                0, 1, 2, 6, 4, 5, 7, 8, 9, 10,
+                2, 4, 3, 6, 5, 7, 8, 9,
+                1, 2, 3, 4, 5, 6, 7, 8,
+                2, 3, 4, 5, 6, 7
+            },
+            // 12 elementos: 39 comparadores, 9 camadas
+            {
+                0, 8, 1, 7, 2, 6, 3, 11, 4, 10, 5, 9,
+                0, 1, 2, 5, 3, 4, 6, 9, 7, 8, 10, 11,
+                0, 2, 1, 6, 5, 10, 9, 11,
+                0, 3, 1, 2, 4, 6, 5, 7, 8, 11, 9, 10,
+                1, 4, 3, 5, 6, 8, 7, 10,
+                1, 3, 2, 5, 6, 9, 8, 10,
+                2, 3, 4, 5, 6, 7, 8, 9,
+                4, 6, 5, 7,
+                3, 4, 5, 6, 7, 8
+            },
+            // 13 elementos: 46 comparadores, 10 camadas
+            {
+                1, 12, 4, 8, 5, 6, 7, 11, 9, 10,
+                0, 5, 1, 7, 2, 9, 3, 4, 11, 12,
+                0, 1, 2, 3, 4, 5, 6, 8, 7, 9, 10, 11,
+                0, 2, 1, 3, 4, 10, 5, 11, 6, 7, 8, 9,
+                1, 2, 3, 12, 4, 6, 5, 7, 8, 10, 9, 11,
+                1, 4, 2, 6, 5, 8, 7, 10,
+                2, 4, 3, 6, 9, 12,
+                3, 5, 6, 8, 7, 9, 10, 12,
+                3, 4, 5, 6, 7, 8, 9, 10, 11, 12,
+                6, 7, 8, 9
+            },
+            // 14 elementos: 51 comparadores, 10 camadas
+            {
+                0, 13, 1, 12, 4, 8, 5, 6, 7, 11, 9, 10,
+                0, 5, 1, 7, 2, 9, 3, 4, 6, 13, 11, 12,
+                0, 1, 2, 3, 4, 5, 6, 8, 7, 9, 10, 11, 12, 13,
+                0, 2, 1, 3, 4, 10, 5, 11, 6, 7, 8, 9,
+                1, 2, 3, 12, 4, 6, 5, 7, 8, 10, 9, 11,
+                1, 4, 2, 6, 5, 8, 7, 10, 9, 13,
+                2, 4, 3, 6, 9, 12, 11, 13,
+                3, 5, 6, 8, 7, 9, 10, 12,
+                3, 4, 5, 6, 7, 8, 9, 10, 11, 12,
+                6, 7, 8, 9
+            },
+            // 15 elementos: 56 comparadores, 10 camadas
+            {
+                0, 13, 1, 12, 3, 14, 4, 8, 5, 6, 7, 11, 9, 10,
+                0, 5, 1, 7, 2, 9, 3, 4, 6, 13, 8, 14, 11, 12,
+                0, 1, 2, 3, 4, 5, 6, 8, 7, 9, 10, 11, 12, 13,
+                0, 2, 1, 3, 4, 10, 5, 11, 6, 7, 8, 9, 12, 14,
+                1, 2, 3, 12, 4, 6, 5, 7, 8, 10, 9, 11, 13, 14,
+                1, 4, 2, 6, 5, 8, 7, 10, 9, 13, 11, 14,
+                2, 4, 3, 6, 9, 12, 11, 13,
+                3, 5, 6, 8, 7, 9, 10, 12,
+                3, 4, 5, 6, 7, 8, 9, 10, 11, 12,
+                6, 7, 8, 9
+            },
+            // 16 elementos: 60 comparadores, 10 camadas
+            {
+                0, 13, 1, 12, 2, 15, 3, 14, 4, 8, 5, 6, 7, 11, 9, 10,
+                0, 5, 1, 7, 2, 9, 3, 4, 6, 13, 8, 14, 10, 15, 11, 12,
+                0, 1, 2, 3, 4, 5, 6, 8, 7, 9, 10, 11, 12, 13, 14, 15,
+                0, 2, 1, 3, 4, 10, 5, 11, 6, 7, 8, 9, 12, 14, 13, 15,
+                1, 2, 3, 12, 4, 6, 5, 7, 8, 10, 9, 11, 13, 14,
+                1, 4, 2, 6, 5, 8, 7, 10, 9, 13, 11, 14,
+                2, 4, 3, 6, 9, 12, 11, 13,
+                3, 5, 6, 8, 7, 9, 10, 12,
+                3, 4, 5, 6, 7, 8, 9, 10, 11, 12,
+                6, 7, 8, 9
+            }
+    };
+
+    /**
+     * Ordena um subarray usando a rede de ordenacao do seu tamanho
+     * @param array Array a ser ordenado
+     * @param low Indice inicial
+     * @param high Indice final
+     */
+    public static void sort(int[] array, int low, int high) {
+        sort(array, low, high, NoOpSortingMetrics.INSTANCE);
+    }
+
+    /**
+     * Ordena um subarray usando a rede de ordenacao do seu tamanho com metricas.
+     * Subarrays maiores que MAX_SIZE sao ordenados por Insertion Sort.
+     * @param array Array a ser ordenado
+     * @param low Indice inicial
+     * @param high Indice final
+     * @param metrics Objeto para coletar metricas
+     */
+    public static void sort(int[] array, int low, int high, SortingMetrics metrics) {
+        int subarraySize = high - low + 1;
+        if (subarraySize > MAX_SIZE) {
+            InsertionSort.sort(array, low, high, metrics);
+            return;
+        }
+        if (subarraySize < 2) {
+            return;
+        }
+
+        int[] network = NETWORKS[subarraySize];
+        long swapCount = 0;
+        for (int pairIndex = 0; pairIndex < network.length; pairIndex += 2) {
+            int firstIndex = low + network[pairIndex];
+            int secondIndex = low + network[pairIndex + 1];
+            int firstValue = array[firstIndex];
+            int secondValue = array[secondIndex];
+
+            // Comparador sem desvio: o menor fica na primeira posicao
+            array[firstIndex] = Math.min(firstValue, secondValue);
+            array[secondIndex] = Math.max(firstValue, secondValue);
+            swapCount += firstValue > secondValue ? 1 : 0;
+        }
+
+        metrics.addComparisons(network.length / 2); // Um comparador por par
+        metrics.addSwaps(swapCount);
+    }
+}
@@ -0,0 +1,153 @@
+package paa.sort.domain.algorithms;
+
+import paa.sort.domain.SortingAlgorithm;
+import paa.sort.domain.algorithms.basecase.BaseCaseSort;
+import paa.sort.domain.algorithms.basecase.InsertionSortBaseCase;
+import paa.sort.domain.performance.SortingMetrics;
+
+import java.util.Objects;
+
+/**
+ * Implementacao do Quicksort hibrido com particionamento em tres vias
+ * (Bentley-McIlroy). Elementos iguais ao pivo sao agrupados no centro e
+ * excluidos das duas chamadas recursivas, o que torna o algoritmo linear
+ * em entradas com poucos valores distintos.
+ */
+public class ThreeWayQuickSort implements SortingAlgorithm {
+    private final int threshold;
+    private final BaseCaseSort baseCase;
+
+    public ThreeWayQuickSort(int threshold) {
+        this(threshold, new InsertionSortBaseCase());
+    }
+
+    public ThreeWayQuickSort(int threshold, BaseCaseSort baseCase) {
+        this.threshold = threshold;
+        this.baseCase = baseCase;
+    }
+
+    @Override
+    public void sort(int[] array, int fromIndex, int toIndex, SortingMetrics metrics) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        quickSort(array, fromIndex, toIndex - 1, metrics);
+    }
+
+    private void quickSort(int[] array, int low, int high, SortingMetrics metrics) {
+        metrics.incrementComparisons(); // Comparacao: low < high
+        if (low < high) {
+            // Se o subarray e pequeno, usa o caso base (Insertion Sort por padrao)
+            int subarraySize = high - low + 1;
+            metrics.incrementComparisons(); // Comparacao: subarraySize <= threshold
+            if (subarraySize <= threshold) {
+                baseCase.sort(array, low, high, metrics);
+            } else {
+                // Usa mediana-de-tres e move o pivo para o inicio
+                int medianIndex = medianOfThree(array, low, high, metrics);
+                swap(array, low, medianIndex, metrics);
+
+                int[] equalRange = partition(array, low, high, metrics);
+                quickSort(array, low, equalRange[0] - 1, metrics);
+                quickSort(array, equalRange[1] + 1, high, metrics);
+            }
+        }
+    }
+
+    /**
+     * Particionamento de Bentley-McIlroy com pivo em array[low]. Durante a
+     * varredura os elementos iguais ao pivo sao guardados nas extremidades e,
+     * ao final, trocados para o centro.
+     *
+     * @return Intervalo [inicio, fim] ocupado pelos elementos iguais ao pivo
+     */
+    private int[] partition(int[] array, int low, int high, SortingMetrics metrics) {
+        int pivotValue = array[low];
+        int leftIndex = low;
+        int rightIndex = high + 1;
+        int leftEqualEnd = low;       // array[low .. leftEqualEnd] == pivo
+        int rightEqualStart = high + 1; // array[rightEqualStart .. high] == pivo
+
+        while (true) {
+            while (less(array[++leftIndex], pivotValue, metrics)) {
+                if (leftIndex == high) {
+                    break;
+                }
+            }
+            while (less(pivotValue, array[--rightIndex], metrics)) {
+                if (rightIndex == low) {
+                    break;
+                }
+            }
+
+            // Ponteiros se encontraram em um elemento igual ao pivo
+            if (leftIndex == rightIndex && equal(array[leftIndex], pivotValue, metrics)) {
+                swap(array, ++leftEqualEnd, leftIndex, metrics);
+            }
+            if (leftIndex >= rightIndex) {
+                break;
+            }
+
+            swap(array, leftIndex, rightIndex, metrics);
+            if (equal(array[leftIndex], pivotValue, metrics)) {
+                swap(array, ++leftEqualEnd, leftIndex, metrics);
+            }
+            if (equal(array[rightIndex], pivotValue, metrics)) {
+                swap(array, --rightEqualStart, rightIndex, metrics);
+            }
+        }
+
+        // Traz os elementos iguais das extremidades para o centro
+        leftIndex = rightIndex + 1;
+        for (int equalIndex = low; equalIndex <= leftEqualEnd; equalIndex++) {
+            swap(array, equalIndex, rightIndex--, metrics);
+        }
+        for (int equalIndex = high; equalIndex >= rightEqualStart; equalIndex--) {
+            swap(array, equalIndex, leftIndex++, metrics);
+        }
+
+        return new int[] { rightIndex + 1, leftIndex - 1 };
+    }
+
+    /**
+     * Encontra a mediana de tres elementos (primeiro, meio e ultimo)
+     * e retorna o indice do elemento mediano
+     */
+    private int medianOfThree(int[] array, int low, int high, SortingMetrics metrics) {
+        int midIndex = low + (high - low) / 2;
+
+        if (less(array[midIndex], array[low], metrics)) {
+            swap(array, low, midIndex, metrics);
+        }
+        if (less(array[high], array[midIndex], metrics)) {
+            swap(array, midIndex, high, metrics);
+        }
+        if (less(array[midIndex], array[low], metrics)) {
+            swap(array, low, midIndex, metrics);
+        }
+
+        return midIndex;
+    }
+
+    private boolean less(int firstValue, int secondValue, SortingMetrics metrics) {
+        metrics.incrementComparisons();
+        return firstValue < secondValue;
+    }
+
+    private boolean equal(int firstValue, int secondValue, SortingMetrics metrics) {
+        metrics.incrementComparisons();
+        return firstValue == secondValue;
+    }
+
+    private void swap(int[] array, int firstIndex, int secondIndex, SortingMetrics metrics) {
+        if (firstIndex != secondIndex) { // So conta como troca se as posicoes forem diferentes
+            metrics.incrementSwaps();
+            int tempValue = array[firstIndex];
+            array[firstIndex] = array[secondIndex];
+            array[secondIndex] = tempValue;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Quicksort 3-Vias (M=" + threshold + ", Bentley-McIlroy" + baseCase.getNameSuffix() + ")";
+    }
+}
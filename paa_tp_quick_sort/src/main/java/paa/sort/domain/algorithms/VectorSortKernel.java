@@ -0,0 +1,328 @@
+package paa.sort.domain.algorithms;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+import paa.sort.domain.performance.SortingMetrics;
+
+/**
+ * Nucleo SIMD do VectorizedQuickSort. E a unica classe que referencia o
+ * modulo jdk.incubator.vector, por isso so deve ser carregada depois de
+ * VectorizedQuickSort confirmar que o modulo esta presente.
+ *
+ * Usa vetores de 8 lanes (256 bits). O JDK 17 nao tem IntVector.compress, entao
+ * a compactacao e emulada com uma tabela de 256 shuffles, um para cada mascara
+ * de comparacao, que leva as lanes selecionadas para o inicio do vetor.
+ */
+final class VectorSortKernel {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_256;
+    private static final int LANES = SPECIES.length();
+
+    /** Maior subarray ordenado pela rede bitonica (dois vetores) */
+    static final int SMALL_SORT_SIZE = 2 * LANES;
+
+    /** Comparadores da rede bitonica de 8 elementos, usados na contagem de metricas */
+    private static final int SORT8_COMPARATORS = 24;
+    private static final int MERGE8_COMPARATORS = 12;
+
+    private static final IntVector MAX_VECTOR = IntVector.broadcast(SPECIES, Integer.MAX_VALUE);
+
+    /** LANE_BITS[lane] = 1 << lane */
+    private static final IntVector LANE_BITS = IntVector.fromArray(SPECIES, new int[] { 1, 2, 4, 8, 16, 32, 64, 128 }, 0);
+
+    /** COMPRESS_SHUFFLES[mascara]: lanes da mascara primeiro, depois as demais */
+    private static final VectorShuffle<Integer>[] COMPRESS_SHUFFLES = createCompressShuffles();
+
+    /** PREFIX_MASKS[k]: mascara com as k primeiras lanes ligadas */
+    private static final VectorMask<Integer>[] PREFIX_MASKS = createPrefixMasks();
+
+    private static final VectorShuffle<Integer> REVERSE_SHUFFLE =
+            VectorShuffle.fromOp(SPECIES, lane -> LANES - 1 - lane);
+
+    // Etapas (parceiro, lanes que ficam com o maximo) da rede bitonica de 8 elementos
+    private static final VectorShuffle<Integer>[] SORT_PARTNERS;
+    private static final VectorMask<Integer>[] SORT_TAKE_MAX;
+    // Etapas finais da rede (distancias 4, 2, 1), que fundem uma sequencia bitonica
+    private static final VectorShuffle<Integer>[] MERGE_PARTNERS;
+    private static final VectorMask<Integer>[] MERGE_TAKE_MAX;
+
+    static {
+        int stageCount = 0;
+        for (int blockSize = 2; blockSize <= LANES; blockSize <<= 1) {
+            for (int distance = blockSize >> 1; distance > 0; distance >>= 1) {
+                stageCount++;
+            }
+        }
+
+        SORT_PARTNERS = newShuffleArray(stageCount);
+        SORT_TAKE_MAX = newMaskArray(stageCount);
+        int stage = 0;
+        for (int blockSize = 2; blockSize <= LANES; blockSize <<= 1) {
+            for (int distance = blockSize >> 1; distance > 0; distance >>= 1) {
+                SORT_PARTNERS[stage] = partnerShuffle(distance);
+                SORT_TAKE_MAX[stage] = takeMaxMask(blockSize, distance);
+                stage++;
+            }
+        }
+
+        int mergeStages = Integer.numberOfTrailingZeros(LANES);
+        MERGE_PARTNERS = newShuffleArray(mergeStages);
+        MERGE_TAKE_MAX = newMaskArray(mergeStages);
+        stage = 0;
+        for (int distance = LANES >> 1; distance > 0; distance >>= 1) {
+            MERGE_PARTNERS[stage] = partnerShuffle(distance);
+            MERGE_TAKE_MAX[stage] = takeMaxMask(LANES << 1, distance);
+            stage++;
+        }
+    }
+
+    private VectorSortKernel() {
+    }
+
+    /**
+     * Indica se o hardware tem vetores de pelo menos 256 bits. Sem isso a
+     * Vector API cai na implementacao escalar e fica mais lenta que o Quicksort comum.
+     */
+    static boolean isSupported() {
+        return IntVector.SPECIES_PREFERRED.vectorBitSize() >= SPECIES.vectorBitSize();
+    }
+
+    /**
+     * Particiona array[fromIndex..toIndex-1] pelo predicado "menor que o pivo"
+     * (ou "menor ou igual", se orEqual): os elementos que satisfazem ficam no inicio.
+     * O "menor ou igual" vira "menor que pivo+1", pois o operador da comparacao
+     * vetorial precisa ser constante para o JIT gerar a instrucao SIMD.
+     *
+     * Particionamento in-place de Bramas: o primeiro e o ultimo vetor sao
+     * guardados em registradores, abrindo 2*LANES posicoes livres. A cada passo
+     * le-se um vetor do lado com menos espaco livre, compacta-se pela mascara
+     * de comparacao e grava-se o vetor inteiro nas duas pontas; as lanes a
+     * mais caem no espaco livre e sao sobrescritas depois.
+     *
+     * @return Indice do primeiro elemento que nao satisfaz o predicado
+     */
+    static int partition(int[] array, int fromIndex, int toIndex, int pivotValue, boolean orEqual,
+                         SortingMetrics metrics) {
+        int bound = pivotValue;
+        if (orEqual) {
+            if (pivotValue == Integer.MAX_VALUE) {
+                return toIndex; // Todos os valores sao menores ou iguais
+            }
+            bound = pivotValue + 1;
+        }
+
+        if (toIndex - fromIndex < SMALL_SORT_SIZE) {
+            return scalarPartition(array, fromIndex, toIndex, bound, metrics);
+        }
+
+        IntVector boundVector = IntVector.broadcast(SPECIES, bound);
+
+        IntVector leftSaved = IntVector.fromArray(SPECIES, array, fromIndex);
+        IntVector rightSaved = IntVector.fromArray(SPECIES, array, toIndex - LANES);
+        int readLeft = fromIndex + LANES;
+        int readRight = toIndex - LANES;  // Ainda nao lidos: array[readLeft..readRight-1]
+        int writeLeft = fromIndex;        // Proxima posicao da parte esquerda
+        int writeRight = toIndex;         // A parte direita termina antes de writeRight
+
+        while (readRight - readLeft >= LANES) {
+            IntVector current;
+            if (readLeft - writeLeft <= writeRight - readRight) {
+                current = IntVector.fromArray(SPECIES, array, readLeft);
+                readLeft += LANES;
+            } else {
+                readRight -= LANES;
+                current = IntVector.fromArray(SPECIES, array, readRight);
+            }
+            // Depois da leitura os dois lados tem ao menos LANES posicoes livres: grava o vetor inteiro
+            int leftBits = maskBits(current.lt(boundVector));
+            int leftCount = Integer.bitCount(leftBits);
+            IntVector packed = current.rearrange(COMPRESS_SHUFFLES[leftBits]);
+            packed.intoArray(array, writeLeft);
+            packed.intoArray(array, writeRight - LANES);
+            writeLeft += leftCount;
+            writeRight -= LANES - leftCount;
+        }
+
+        // Sobra menos de um vetor: le tudo antes de gravar, pois o espaco livre so aparece apos a leitura
+        int remaining = readRight - readLeft;
+        IntVector tail = IntVector.fromArray(SPECIES, array, readLeft, PREFIX_MASKS[remaining]);
+        for (int lane = 0; lane < remaining; lane++) {
+            int value = tail.lane(lane);
+            metrics.incrementComparisons(); // Comparacao: value < bound
+            if (value < bound) {
+                array[writeLeft++] = value;
+            } else {
+                array[--writeRight] = value;
+            }
+            metrics.incrementSwaps(); // Movimento para a parte correspondente
+        }
+
+        for (IntVector saved : new IntVector[] { leftSaved, rightSaved }) {
+            int leftCount = storePartitioned(array, saved, boundVector, writeLeft, writeRight);
+            writeLeft += leftCount;
+            writeRight -= LANES - leftCount;
+        }
+
+        long vectorCount = (toIndex - fromIndex - remaining) / LANES;
+        metrics.addComparisons(vectorCount * LANES); // Uma comparacao por lane
+        metrics.addSwaps(vectorCount * LANES);       // Cada lane e gravada uma vez
+        return writeLeft;
+    }
+
+    /**
+     * Compacta o vetor pela mascara do predicado e grava as lanes selecionadas
+     * em array[writeLeft..] e as demais terminando em writeRight. Usa stores
+     * mascarados, pois no fim da particao nao ha folga para o vetor inteiro.
+     *
+     * @return Quantidade de lanes gravadas a esquerda
+     */
+    private static int storePartitioned(int[] array, IntVector values, IntVector boundVector,
+                                        int writeLeft, int writeRight) {
+        int leftBits = maskBits(values.lt(boundVector));
+        int leftCount = Integer.bitCount(leftBits);
+        IntVector packed = values.rearrange(COMPRESS_SHUFFLES[leftBits]);
+
+        VectorMask<Integer> prefix = PREFIX_MASKS[leftCount];
+        packed.intoArray(array, writeLeft, prefix);
+        // A lane i da parte direita vai para writeRight - LANES + i
+        packed.intoArray(array, writeRight - LANES, prefix.not());
+        return leftCount;
+    }
+
+    /**
+     * Converte a mascara num inteiro com um bit por lane. No JDK 17 a reducao
+     * dos pesos 2^lane e mais rapida que VectorMask.toLong.
+     */
+    private static int maskBits(VectorMask<Integer> mask) {
+        return LANE_BITS.blend(0, mask.not()).reduceLanes(VectorOperators.OR);
+    }
+
+    private static int scalarPartition(int[] array, int fromIndex, int toIndex, int bound, SortingMetrics metrics) {
+        int partitionIndex = fromIndex;
+        for (int currentIndex = fromIndex; currentIndex < toIndex; currentIndex++) {
+            int value = array[currentIndex];
+            metrics.incrementComparisons(); // Comparacao: value < bound
+            if (value < bound) {
+                if (partitionIndex != currentIndex) {
+                    metrics.incrementSwaps();
+                    array[currentIndex] = array[partitionIndex];
+                    array[partitionIndex] = value;
+                }
+                partitionIndex++;
+            }
+        }
+        return partitionIndex;
+    }
+
+    /**
+     * Ordena array[fromIndex..fromIndex+length-1], com length <= SMALL_SORT_SIZE,
+     * por uma rede bitonica sobre um ou dois vetores. As lanes que sobram sao
+     * preenchidas com Integer.MAX_VALUE, que ficam no fim e nao sao gravadas.
+     */
+    static void smallSort(int[] array, int fromIndex, int length, SortingMetrics metrics) {
+        if (length <= LANES) {
+            IntVector values = sort8(loadPadded(array, fromIndex, length));
+            values.intoArray(array, fromIndex, PREFIX_MASKS[length]);
+            metrics.addComparisons(SORT8_COMPARATORS);
+            metrics.addSwaps(length);
+            return;
+        }
+
+        IntVector lower = sort8(IntVector.fromArray(SPECIES, array, fromIndex));
+        IntVector upper = sort8(loadPadded(array, fromIndex + LANES, length - LANES));
+
+        // Com o segundo vetor invertido, min/max separam duas sequencias bitonicas
+        IntVector reversedUpper = upper.rearrange(REVERSE_SHUFFLE);
+        IntVector smallest = merge8(lower.min(reversedUpper));
+        IntVector largest = merge8(lower.max(reversedUpper));
+
+        smallest.intoArray(array, fromIndex);
+        largest.intoArray(array, fromIndex + LANES, PREFIX_MASKS[length - LANES]);
+        metrics.addComparisons(2 * SORT8_COMPARATORS + LANES + 2 * MERGE8_COMPARATORS);
+        metrics.addSwaps(length);
+    }
+
+    private static IntVector loadPadded(int[] array, int fromIndex, int length) {
+        VectorMask<Integer> valid = PREFIX_MASKS[length];
+        return IntVector.fromArray(SPECIES, array, fromIndex, valid).blend(MAX_VECTOR, valid.not());
+    }
+
+    private static IntVector sort8(IntVector values) {
+        for (int stage = 0; stage < SORT_PARTNERS.length; stage++) {
+            values = compareExchange(values, SORT_PARTNERS[stage], SORT_TAKE_MAX[stage]);
+        }
+        return values;
+    }
+
+    private static IntVector merge8(IntVector values) {
+        for (int stage = 0; stage < MERGE_PARTNERS.length; stage++) {
+            values = compareExchange(values, MERGE_PARTNERS[stage], MERGE_TAKE_MAX[stage]);
+        }
+        return values;
+    }
+
+    /** Um comparador da rede em todas as lanes: cada lane fica com o min ou o max do seu par */
+    private static IntVector compareExchange(IntVector values, VectorShuffle<Integer> partners,
+                                             VectorMask<Integer> takeMax) {
+        IntVector partnerValues = values.rearrange(partners);
+        return values.min(partnerValues).blend(values.max(partnerValues), takeMax);
+    }
+
+    private static VectorShuffle<Integer> partnerShuffle(int distance) {
+        return VectorShuffle.fromOp(SPECIES, lane -> lane ^ distance);
+    }
+
+    /**
+     * Lanes que recebem o maior do par: num bloco crescente, a lane de cima;
+     * num bloco decrescente, a de baixo
+     */
+    private static VectorMask<Integer> takeMaxMask(int blockSize, int distance) {
+        boolean[] takeMax = new boolean[LANES];
+        for (int lane = 0; lane < LANES; lane++) {
+            boolean ascending = (lane & blockSize) == 0;
+            boolean upperOfPair = (lane & distance) != 0;
+            takeMax[lane] = upperOfPair == ascending;
+        }
+        return VectorMask.fromArray(SPECIES, takeMax, 0);
+    }
+
+    private static VectorShuffle<Integer>[] createCompressShuffles() {
+        VectorShuffle<Integer>[] shuffles = newShuffleArray(1 << LANES);
+        int[] order = new int[LANES];
+        for (int mask = 0; mask < shuffles.length; mask++) {
+            int position = 0;
+            for (int lane = 0; lane < LANES; lane++) {
+                if ((mask & (1 << lane)) != 0) {
+                    order[position++] = lane;
+                }
+            }
+            for (int lane = 0; lane < LANES; lane++) {
+                if ((mask & (1 << lane)) == 0) {
+                    order[position++] = lane;
+                }
+            }
+            shuffles[mask] = VectorShuffle.fromArray(SPECIES, order, 0);
+        }
+        return shuffles;
+    }
+
+    private static VectorMask<Integer>[] createPrefixMasks() {
+        VectorMask<Integer>[] masks = newMaskArray(LANES + 1);
+        for (int count = 0; count <= LANES; count++) {
+            masks[count] = SPECIES.indexInRange(0, count);
+        }
+        return masks;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static VectorShuffle<Integer>[] newShuffleArray(int length) {
+        return (VectorShuffle<Integer>[]) new VectorShuffle<?>[length];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static VectorMask<Integer>[] newMaskArray(int length) {
+        return (VectorMask<Integer>[]) new VectorMask<?>[length];
+    }
+}
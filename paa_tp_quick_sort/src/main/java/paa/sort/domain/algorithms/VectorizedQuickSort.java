@@ -0,0 +1,152 @@
+package paa.sort.domain.algorithms;
+
+import paa.sort.domain.SortingAlgorithm;
+import paa.sort.domain.performance.SortingMetrics;
+
+import java.util.Objects;
+
+/**
+ * Quicksort com particionamento SIMD pela Vector API (jdk.incubator.vector):
+ * cada passo compara 8 elementos com o pivo de uma vez e os distribui com
+ * shuffles e stores mascarados (ver VectorSortKernel). Subarrays de ate 16
+ * elementos sao ordenados por uma rede bitonica vetorizada.
+ *
+ * O modulo e incubado e precisa de --add-modules jdk.incubator.vector na JVM.
+ * Sem ele, ou sem vetores de 256 bits no hardware, a ordenacao e delegada ao
+ * ImprovedHybridQuickSort. A classe nao referencia tipos da Vector API, entao
+ * pode ser carregada em qualquer JVM.
+ *
+ * A particao e em duas vias ("menor que o pivo" e o resto). Quando nenhum
+ * elemento e menor que o pivo, uma segunda passada separa os iguais a ele,
+ * que ja ficam na posicao final; assim entradas com muitas repeticoes nao
+ * degradam. Acima de 2*log2(n) niveis o subarray vai para o Heapsort.
+ */
+public class VectorizedQuickSort implements SortingAlgorithm {
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final boolean VECTOR_API_AVAILABLE = detectVectorApi();
+
+    private final int threshold;
+    private final SortingAlgorithm fallback;
+
+    public VectorizedQuickSort(int threshold) {
+        this.threshold = threshold;
+        this.fallback = VECTOR_API_AVAILABLE ? null : new ImprovedHybridQuickSort(threshold);
+    }
+
+    /**
+     * Indica se o caminho vetorizado esta ativo nesta JVM
+     */
+    public static boolean isVectorApiAvailable() {
+        return VECTOR_API_AVAILABLE;
+    }
+
+    private static boolean detectVectorApi() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return false;
+        }
+        try {
+            return VectorSortKernel.isSupported();
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void sort(int[] array, int fromIndex, int toIndex, SortingMetrics metrics) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        if (fallback != null) {
+            fallback.sort(array, fromIndex, toIndex, metrics);
+            return;
+        }
+        quickSort(array, fromIndex, toIndex - 1, IntroSort.depthLimit(toIndex - fromIndex), metrics);
+    }
+
+    private void quickSort(int[] array, int low, int high, int remainingDepth, SortingMetrics metrics) {
+        while (true) {
+            metrics.incrementComparisons(); // Comparacao: low < high
+            if (low >= high) {
+                return;
+            }
+
+            int subarraySize = high - low + 1;
+            metrics.incrementComparisons(); // Comparacao: subarraySize <= SMALL_SORT_SIZE
+            if (subarraySize <= VectorSortKernel.SMALL_SORT_SIZE) {
+                VectorSortKernel.smallSort(array, low, subarraySize, metrics);
+                return;
+            }
+
+            // Se o subarray e pequeno, usa Insertion Sort
+            metrics.incrementComparisons(); // Comparacao: subarraySize <= threshold
+            if (subarraySize <= threshold) {
+                InsertionSort.sort(array, low, high, metrics);
+                return;
+            }
+            if (remainingDepth == 0) {
+                // Particionamentos ruins demais: garante O(n log n) com Heapsort
+                HeapSort.sort(array, low, high, metrics);
+                return;
+            }
+            remainingDepth--;
+
+            int pivotValue = array[medianOfThree(array, low, high, metrics)];
+            int splitIndex = VectorSortKernel.partition(array, low, high + 1, pivotValue, false, metrics);
+
+            if (splitIndex == low) {
+                // O pivo e o menor valor: separa os iguais a ele, que ja estao na posicao final
+                low = VectorSortKernel.partition(array, low, high + 1, pivotValue, true, metrics);
+                continue;
+            }
+
+            // Recursao na menor particao, laco na maior
+            if (splitIndex - low < high - splitIndex) {
+                quickSort(array, low, splitIndex - 1, remainingDepth, metrics);
+                low = splitIndex;
+            } else {
+                quickSort(array, splitIndex, high, remainingDepth, metrics);
+                high = splitIndex - 1;
+            }
+        }
+    }
+
+    /**
+     * Encontra a mediana de tres elementos (primeiro, meio e ultimo)
+     * e retorna o indice do elemento mediano
+     */
+    private int medianOfThree(int[] array, int low, int high, SortingMetrics metrics) {
+        int midIndex = low + (high - low) / 2;
+
+        metrics.incrementComparisons(); // Comparacao: array[low] > array[midIndex]
+        if (array[low] > array[midIndex]) {
+            swap(array, low, midIndex, metrics);
+        }
+
+        metrics.incrementComparisons(); // Comparacao: array[midIndex] > array[high]
+        if (array[midIndex] > array[high]) {
+            swap(array, midIndex, high, metrics);
+        }
+
+        metrics.incrementComparisons(); // Comparacao: array[low] > array[midIndex]
+        if (array[low] > array[midIndex]) {
+            swap(array, low, midIndex, metrics);
+        }
+
+        return midIndex; // O elemento do meio e a mediana
+    }
+
+    private void swap(int[] array, int firstIndex, int secondIndex, SortingMetrics metrics) {
+        if (firstIndex != secondIndex) { // So conta como troca se as posicoes forem diferentes
+            metrics.incrementSwaps();
+            int tempValue = array[firstIndex];
+            array[firstIndex] = array[secondIndex];
+            array[secondIndex] = tempValue;
+        }
+    }
+
+    @Override
+    public String getName() {
+        if (fallback != null) {
+            return "Quicksort Vetorizado (indisponivel, usando " + fallback.getName() + ")";
+        }
+        return "Quicksort Vetorizado (M=" + threshold + ", SIMD 256 bits)";
+    }
+}
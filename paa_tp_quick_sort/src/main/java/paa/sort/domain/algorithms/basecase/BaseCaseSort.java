@@ -0,0 +1,33 @@
+package paa.sort.domain.algorithms.basecase;
+
+import paa.sort.domain.performance.SortingMetrics;
+
+/**
+ * Interface para o algoritmo que ordena os subarrays abaixo do threshold
+ * nos Quicksorts hibridos
+ */
+public interface BaseCaseSort {
+    /**
+     * Ordena o subarray array[low..high]
+     * @param array Array sendo ordenado
+     * @param low Indice inicial
+     * @param high Indice final
+     * @param metrics Objeto para coletar metricas de comparacoes e trocas
+     */
+    void sort(int[] array, int low, int high, SortingMetrics metrics);
+
+    /**
+     * Retorna o nome do caso base
+     * @return Nome do caso base
+     */
+    String getName();
+
+    /**
+     * Complemento para o nome do algoritmo hibrido. O caso base padrao
+     * (Insertion Sort) devolve vazio, mantendo os nomes ja usados nos relatorios.
+     * @return Texto a ser concatenado dentro dos parenteses do nome
+     */
+    default String getNameSuffix() {
+        return ", " + getName();
+    }
+}
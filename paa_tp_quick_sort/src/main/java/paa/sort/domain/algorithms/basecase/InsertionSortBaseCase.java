@@ -0,0 +1,25 @@
+package paa.sort.domain.algorithms.basecase;
+
+import paa.sort.domain.algorithms.InsertionSort;
+import paa.sort.domain.performance.SortingMetrics;
+
+/**
+ * Caso base padrao dos Quicksorts hibridos: Insertion Sort
+ */
+public class InsertionSortBaseCase implements BaseCaseSort {
+
+    @Override
+    public void sort(int[] array, int low, int high, SortingMetrics metrics) {
+        InsertionSort.sort(array, low, high, metrics);
+    }
+
+    @Override
+    public String getName() {
+        return "Insertion Sort";
+    }
+
+    @Override
+    public String getNameSuffix() {
+        return "";
+    }
+}
@@ -0,0 +1,21 @@
+package paa.sort.domain.algorithms.basecase;
+
+import paa.sort.domain.algorithms.SortingNetwork;
+import paa.sort.domain.performance.SortingMetrics;
+
+/**
+ * Caso base por redes de ordenacao sem desvios. Subarrays maiores que
+ * SortingNetwork.MAX_SIZE (thresholds acima de 16) continuam no Insertion Sort.
+ */
+public class SortingNetworkBaseCase implements BaseCaseSort {
+
+    @Override
+    public void sort(int[] array, int low, int high, SortingMetrics metrics) {
+        SortingNetwork.sort(array, low, high, metrics);
+    }
+
+    @Override
+    public String getName() {
+        return "Rede de Ordenacao";
+    }
+}
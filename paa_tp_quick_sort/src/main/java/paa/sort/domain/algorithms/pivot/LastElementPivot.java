@@ -0,0 +1,19 @@
+package paa.sort.domain.algorithms.pivot;
+
+import paa.sort.domain.performance.SortingMetrics;
+
+/**
+ * Usa o ultimo elemento do subarray como pivo, como no Quicksort tradicional
+ */
+public class LastElementPivot implements PivotStrategy {
+
+    @Override
+    public int selectPivotIndex(int[] array, int low, int high, SortingMetrics metrics) {
+        return high;
+    }
+
+    @Override
+    public String getName() {
+        return "Ultimo Elemento";
+    }
+}
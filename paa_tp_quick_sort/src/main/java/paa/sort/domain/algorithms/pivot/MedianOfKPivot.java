@@ -0,0 +1,70 @@
+package paa.sort.domain.algorithms.pivot;
+
+import paa.sort.domain.performance.SortingMetrics;
+
+/**
+ * Mediana de uma amostra de k elementos igualmente espacados no subarray.
+ * As posicoes amostradas sao ordenadas entre si por Insertion Sort (O(k^2),
+ * entao k deve ser pequeno) e o pivo e a do meio. Quanto maior k, mais
+ * equilibradas as particoes e menos comparacoes no total, ate o custo da
+ * amostra superar o ganho.
+ */
+public class MedianOfKPivot implements PivotStrategy {
+    private final int sampleSize;
+
+    /**
+     * @param sampleSize Tamanho da amostra, impar e positivo
+     * @throws IllegalArgumentException se sampleSize for par ou menor que 1
+     */
+    public MedianOfKPivot(int sampleSize) {
+        if (sampleSize < 1 || sampleSize % 2 == 0) {
+            throw new IllegalArgumentException("Tamanho da amostra deve ser impar e positivo: " + sampleSize);
+        }
+        this.sampleSize = sampleSize;
+    }
+
+    @Override
+    public int selectPivotIndex(int[] array, int low, int high, SortingMetrics metrics) {
+        int subarraySize = high - low + 1;
+        // Subarrays menores que a amostra usam o maior tamanho impar que cabe
+        int effectiveSize = Math.min(sampleSize, subarraySize % 2 == 0 ? subarraySize - 1 : subarraySize);
+        if (effectiveSize == 1) {
+            return low + (high - low) / 2;
+        }
+
+        // Insertion Sort sobre as posicoes low + i * (n-1) / (k-1)
+        for (int sampleIndex = 1; sampleIndex < effectiveSize; sampleIndex++) {
+            int valueToInsert = array[samplePosition(low, subarraySize, effectiveSize, sampleIndex)];
+            int comparisonIndex = sampleIndex - 1;
+
+            while (comparisonIndex >= 0) {
+                int comparedPosition = samplePosition(low, subarraySize, effectiveSize, comparisonIndex);
+                metrics.incrementComparisons(); // Comparacao: array[comparedPosition] > valueToInsert
+                if (array[comparedPosition] > valueToInsert) {
+                    array[samplePosition(low, subarraySize, effectiveSize, comparisonIndex + 1)] =
+                            array[comparedPosition];
+                    metrics.incrementSwaps(); // Movimento/troca
+                    comparisonIndex--;
+                } else {
+                    break;
+                }
+            }
+
+            if (comparisonIndex + 1 != sampleIndex) {
+                array[samplePosition(low, subarraySize, effectiveSize, comparisonIndex + 1)] = valueToInsert;
+                metrics.incrementSwaps(); // Insercao do valueToInsert na posicao correta
+            }
+        }
+
+        return samplePosition(low, subarraySize, effectiveSize, effectiveSize / 2);
+    }
+
+    private static int samplePosition(int low, int subarraySize, int effectiveSize, int sampleIndex) {
+        return low + (int) ((long) sampleIndex * (subarraySize - 1) / (effectiveSize - 1));
+    }
+
+    @Override
+    public String getName() {
+        return "Mediana-de-" + sampleSize;
+    }
+}
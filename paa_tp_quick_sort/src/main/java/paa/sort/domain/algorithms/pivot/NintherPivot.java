@@ -0,0 +1,69 @@
+package paa.sort.domain.algorithms.pivot;
+
+import paa.sort.domain.performance.SortingMetrics;
+
+/**
+ * Ninther de Tukey (Bentley e McIlroy, "Engineering a Sort Function"): a
+ * mediana das medianas de tres trios espalhados pelo subarray. Com 9 amostras
+ * o pivo fica bem mais perto da mediana real que a mediana-de-3, ao custo de
+ * ate 12 comparacoes. Subarrays pequenos usam a mediana-de-3.
+ * Nenhum elemento e movido.
+ */
+public class NintherPivot implements PivotStrategy {
+    // Abaixo deste tamanho o ganho do ninther nao paga as comparacoes extras
+    private static final int DEFAULT_NINTHER_THRESHOLD = 40;
+
+    private final int nintherThreshold;
+
+    public NintherPivot() {
+        this(DEFAULT_NINTHER_THRESHOLD);
+    }
+
+    public NintherPivot(int nintherThreshold) {
+        this.nintherThreshold = nintherThreshold;
+    }
+
+    @Override
+    public int selectPivotIndex(int[] array, int low, int high, SortingMetrics metrics) {
+        int midIndex = low + (high - low) / 2;
+        int subarraySize = high - low + 1;
+
+        metrics.incrementComparisons(); // Comparacao: subarraySize > nintherThreshold
+        if (subarraySize <= nintherThreshold) {
+            return medianOfThree(array, low, midIndex, high, metrics);
+        }
+
+        int step = subarraySize / 8;
+        int lowMedian = medianOfThree(array, low, low + step, low + 2 * step, metrics);
+        int midMedian = medianOfThree(array, midIndex - step, midIndex, midIndex + step, metrics);
+        int highMedian = medianOfThree(array, high - 2 * step, high - step, high, metrics);
+        return medianOfThree(array, lowMedian, midMedian, highMedian, metrics);
+    }
+
+    /**
+     * Indice do valor mediano entre tres posicoes, sem mover elementos
+     */
+    private int medianOfThree(int[] array, int firstIndex, int secondIndex, int thirdIndex,
+                              SortingMetrics metrics) {
+        if (less(array[firstIndex], array[secondIndex], metrics)) {
+            if (less(array[secondIndex], array[thirdIndex], metrics)) {
+                return secondIndex;
+            }
+            return less(array[firstIndex], array[thirdIndex], metrics) ? thirdIndex : firstIndex;
+        }
+        if (less(array[thirdIndex], array[secondIndex], metrics)) {
+            return secondIndex;
+        }
+        return less(array[thirdIndex], array[firstIndex], metrics) ? thirdIndex : firstIndex;
+    }
+
+    private boolean less(int firstValue, int secondValue, SortingMetrics metrics) {
+        metrics.incrementComparisons();
+        return firstValue < secondValue;
+    }
+
+    @Override
+    public String getName() {
+        return "Ninther";
+    }
+}
@@ -0,0 +1,25 @@
+package paa.sort.domain.algorithms.pivot;
+
+import paa.sort.domain.performance.SortingMetrics;
+
+/**
+ * Interface para estrategias de escolha do pivo usadas pelos Quicksorts
+ */
+public interface PivotStrategy {
+    /**
+     * Escolhe o pivo do subarray array[low..high]. A estrategia pode reorganizar
+     * elementos do subarray, desde que o pivo permaneca no indice retornado.
+     * @param array Array sendo ordenado
+     * @param low Indice inicial
+     * @param high Indice final
+     * @param metrics Objeto para coletar metricas de comparacoes e trocas
+     * @return Indice do pivo escolhido
+     */
+    int selectPivotIndex(int[] array, int low, int high, SortingMetrics metrics);
+
+    /**
+     * Retorna o nome da estrategia
+     * @return Nome da estrategia
+     */
+    String getName();
+}
@@ -0,0 +1,33 @@
+package paa.sort.domain.algorithms.pivot;
+
+import paa.sort.domain.performance.SortingMetrics;
+
+import java.util.SplittableRandom;
+
+/**
+ * Pivo em posicao aleatoria do subarray. Nenhuma entrada fixa forca o pior
+ * caso, que passa a depender so do acaso (O(n log n) esperado).
+ *
+ * O gerador e derivado da seed e dos limites do subarray a cada escolha, sem
+ * estado compartilhado: toda ordenacao da mesma entrada escolhe os mesmos
+ * pivos (nao apenas a primeira), e as tarefas da versao paralela nao disputam
+ * um gerador comum.
+ */
+public class RandomPivot implements PivotStrategy {
+    private final long seed;
+
+    public RandomPivot(long seed) {
+        this.seed = seed;
+    }
+
+    @Override
+    public int selectPivotIndex(int[] array, int low, int high, SortingMetrics metrics) {
+        SplittableRandom random = new SplittableRandom(seed ^ ((long) low << 32 | high));
+        return low + random.nextInt(high - low + 1);
+    }
+
+    @Override
+    public String getName() {
+        return "Aleatorio (seed=" + seed + ")";
+    }
+}
@@ -0,0 +1,118 @@
+package paa.sort.domain.memory;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Objects;
+
+/**
+ * Array de inteiros fora do heap, indexado por long. Os elementos ficam em
+ * segmentos de IntBuffer diretos (cada ByteBuffer e limitado a
+ * Integer.MAX_VALUE bytes, ou seja, 2^31 - 1),
+ * de modo que o tamanho total pode passar de Integer.MAX_VALUE e os dados nao
+ * sao percorridos pelo coletor de lixo.
+ *
+ * A memoria nativa e liberada quando o objeto deixa de ser referenciado.
+ */
+public class OffHeapIntArray {
+    // 2^28 inteiros (1 GiB) por segmento
+    public static final int DEFAULT_SEGMENT_SHIFT = 28;
+    // 2^29 inteiros ja ocupariam 2^31 bytes, um a mais que o limite do ByteBuffer
+    private static final int MAX_SEGMENT_SHIFT = 28;
+
+    private final long length;
+    private final int segmentShift;
+    private final long segmentMask;
+    private final IntBuffer[] segments;
+
+    public OffHeapIntArray(long length) {
+        this(length, DEFAULT_SEGMENT_SHIFT);
+    }
+
+    /**
+     * @param length Quantidade de elementos
+     * @param segmentShift log2 da quantidade de elementos por segmento (0 a 28)
+     */
+    public OffHeapIntArray(long length, int segmentShift) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Tamanho nao pode ser negativo: " + length);
+        }
+        if (segmentShift < 0 || segmentShift > MAX_SEGMENT_SHIFT) {
+            throw new IllegalArgumentException("segmentShift deve estar entre 0 e " + MAX_SEGMENT_SHIFT
+                    + ": " + segmentShift);
+        }
+
+        this.length = length;
+        this.segmentShift = segmentShift;
+        this.segmentMask = (1L << segmentShift) - 1;
+
+        long segmentCapacity = 1L << segmentShift;
+        long segmentCount = (length + segmentCapacity - 1) >>> segmentShift;
+        if (segmentCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Tamanho excede o numero maximo de segmentos: " + length);
+        }
+
+        this.segments = new IntBuffer[(int) segmentCount];
+        for (int segment = 0; segment < segments.length; segment++) {
+            long segmentLength = Math.min(segmentCapacity, length - ((long) segment << segmentShift));
+            segments[segment] = ByteBuffer.allocateDirect((int) (segmentLength * Integer.BYTES))
+                    .order(ByteOrder.nativeOrder())
+                    .asIntBuffer();
+        }
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public int get(long index) {
+        Objects.checkIndex(index, length);
+        return segments[(int) (index >>> segmentShift)].get((int) (index & segmentMask));
+    }
+
+    public void set(long index, int value) {
+        Objects.checkIndex(index, length);
+        segments[(int) (index >>> segmentShift)].put((int) (index & segmentMask), value);
+    }
+
+    /**
+     * Troca os elementos das posicoes firstIndex e secondIndex
+     */
+    public void swap(long firstIndex, long secondIndex) {
+        int tempValue = get(firstIndex);
+        set(firstIndex, get(secondIndex));
+        set(secondIndex, tempValue);
+    }
+
+    /**
+     * Copia um array do heap para as posicoes a partir de destinationIndex
+     */
+    public void copyFrom(int[] source, long destinationIndex) {
+        Objects.checkFromIndexSize(destinationIndex, source.length, length);
+        int copied = 0;
+        while (copied < source.length) {
+            long index = destinationIndex + copied;
+            IntBuffer segment = segments[(int) (index >>> segmentShift)];
+            int offset = (int) (index & segmentMask);
+            int chunk = Math.min(source.length - copied, segment.capacity() - offset);
+            segment.put(offset, source, copied, chunk);
+            copied += chunk;
+        }
+    }
+
+    /**
+     * Copia destination.length elementos a partir de sourceIndex para um array do heap
+     */
+    public void copyTo(long sourceIndex, int[] destination) {
+        Objects.checkFromIndexSize(sourceIndex, destination.length, length);
+        int copied = 0;
+        while (copied < destination.length) {
+            long index = sourceIndex + copied;
+            IntBuffer segment = segments[(int) (index >>> segmentShift)];
+            int offset = (int) (index & segmentMask);
+            int chunk = Math.min(destination.length - copied, segment.capacity() - offset);
+            segment.get(offset, destination, copied, chunk);
+            copied += chunk;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package paa.sort.domain.performance;
+
+import paa.sort.domain.SortingAlgorithm;
+
+/**
+ * Mede o tempo de ordenacao de um algoritmo sobre uma massa de dados fixa.
+ *
+ * Apenas a chamada a sort fica dentro da janela cronometrada: as copias da
+ * massa original sao feitas antes e a verificacao da ordenacao depois. Para
+ * arrays pequenos, que ordenam em microssegundos, cada amostra cronometra um
+ * lote de ordenacoes (o tamanho do lote e calibrado para ~1 ms) e registra o
+ * tempo medio por ordenacao, evitando a resolucao e o custo do
+ * System.nanoTime(). As amostras sao resumidas em TimingStatistics.
+ */
+public class MeasurementEngine {
+    // O aquecimento dura ao menos este tempo: em arrays pequenos poucas
+    // execucoes nao bastam para o JIT compilar o algoritmo
+    private static final long MIN_WARMUP_NANOS = 100_000_000;
+    private static final long TARGET_SAMPLE_NANOS = 1_000_000;
+    // Limita a memoria ocupada pelas copias de um lote
+    private static final int MAX_BATCH_ELEMENTS = 4_000_000;
+    private static final int MAX_BATCH_SIZE = 1 << 16;
+
+    private final int warmupExecutions;
+    private final int sampleCount;
+
+    /**
+     * @param warmupExecutions Ordenacoes descartadas antes da medicao
+     * @param sampleCount Amostras cronometradas
+     * @throws IllegalArgumentException se os valores forem invalidos
+     */
+    public MeasurementEngine(int warmupExecutions, int sampleCount) {
+        if (warmupExecutions < 0) {
+            throw new IllegalArgumentException("Numero de aquecimentos nao pode ser negativo: " + warmupExecutions);
+        }
+        if (sampleCount < 1) {
+            throw new IllegalArgumentException("Numero de amostras deve ser positivo: " + sampleCount);
+        }
+        this.warmupExecutions = warmupExecutions;
+        this.sampleCount = sampleCount;
+    }
+
+    /**
+     * Mede o algoritmo ordenando copias de originalArray, que nao e alterado.
+     * Excecoes e erros lancados pelo algoritmo sao propagados.
+     */
+    public Measurement measure(SortingAlgorithm algorithm, int[] originalArray) {
+        // Aquecimento da JVM: ao menos warmupExecutions execucoes e MIN_WARMUP_NANOS
+        long warmupStart = System.nanoTime();
+        for (int i = 0; i < warmupExecutions || System.nanoTime() - warmupStart < MIN_WARMUP_NANOS; i++) {
+            int[] warmupData = originalArray.clone();
+            algorithm.sort(warmupData, 0, warmupData.length, NoOpSortingMetrics.INSTANCE);
+        }
+
+        int batchSize = calibrateBatchSize(algorithm, originalArray);
+        int[][] batch = new int[batchSize][originalArray.length];
+        long[] samples = new long[sampleCount];
+        boolean allSorted = true;
+        int[] firstOutput = null;
+
+        for (int sample = 0; sample < sampleCount; sample++) {
+            copyToBatch(originalArray, batch);
+            samples[sample] = timeBatch(algorithm, batch) / batchSize;
+
+            // Verificacao fora da medicao de tempo
+            for (int[] sortedData : batch) {
+                allSorted &= isSorted(sortedData);
+            }
+            if (firstOutput == null) {
+                firstOutput = batch[0].clone();
+            }
+        }
+
+        return new Measurement(TimingStatistics.of(samples), batchSize, allSorted, firstOutput);
+    }
+
+    /**
+     * Dobra o lote ate uma amostra levar TARGET_SAMPLE_NANOS ou atingir o
+     * limite de memoria; as execucoes da calibracao tambem aquecem a JVM
+     */
+    private int calibrateBatchSize(SortingAlgorithm algorithm, int[] originalArray) {
+        int elementsPerCopy = Math.max(originalArray.length, 1);
+        int batchSize = 1;
+        while (batchSize < MAX_BATCH_SIZE && (long) batchSize * 2 * elementsPerCopy <= MAX_BATCH_ELEMENTS) {
+            int[][] batch = new int[batchSize][originalArray.length];
+            copyToBatch(originalArray, batch);
+            if (timeBatch(algorithm, batch) >= TARGET_SAMPLE_NANOS) {
+                break;
+            }
+            batchSize *= 2;
+        }
+        return batchSize;
+    }
+
+    private static void copyToBatch(int[] originalArray, int[][] batch) {
+        for (int[] copy : batch) {
+            System.arraycopy(originalArray, 0, copy, 0, originalArray.length);
+        }
+    }
+
+    /**
+     * Tempo total, em nanossegundos, para ordenar todas as copias do lote
+     */
+    private static long timeBatch(SortingAlgorithm algorithm, int[][] batch) {
+        long startTime = System.nanoTime();
+        for (int[] data : batch) {
+            algorithm.sort(data, 0, data.length, NoOpSortingMetrics.INSTANCE);
+        }
+        return System.nanoTime() - startTime;
+    }
+
+    private static boolean isSorted(int[] array) {
+        for (int i = 1; i < array.length; i++) {
+            if (array[i] < array[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Resultado de uma medicao
+     */
+    public static class Measurement {
+        private final TimingStatistics statistics;
+        private final int batchSize;
+        private final boolean sorted;
+        private final int[] output;
+
+        public Measurement(TimingStatistics statistics, int batchSize, boolean sorted, int[] output) {
+            this.statistics = statistics;
+            this.batchSize = batchSize;
+            this.sorted = sorted;
+            this.output = output;
+        }
+
+        public TimingStatistics getStatistics() {
+            return statistics;
+        }
+
+        /**
+         * Ordenacoes cronometradas juntas em cada amostra
+         */
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        /**
+         * Indica se todas as ordenacoes medidas produziram arrays ordenados
+         */
+        public boolean isSorted() {
+            return sorted;
+        }
+
+        /**
+         * Array produzido pela primeira ordenacao medida
+         */
+        public int[] getOutput() {
+            return output;
+        }
+    }
+}
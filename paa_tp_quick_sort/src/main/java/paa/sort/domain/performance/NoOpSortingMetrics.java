@@ -0,0 +1,59 @@
+package paa.sort.domain.performance;
+
+/**
+ * Implementacao de metricas que descarta todas as operacoes. Usada nas execucoes
+ * cronometradas: como os metodos sao vazios, o JIT os elimina ao inline-los e o
+ * tempo medido nao inclui o custo dos contadores.
+ */
+public final class NoOpSortingMetrics extends SortingMetrics {
+    public static final NoOpSortingMetrics INSTANCE = new NoOpSortingMetrics();
+
+    private NoOpSortingMetrics() {
+        // Instancia unica: nao guarda estado
+    }
+
+    @Override
+    public void incrementComparisons() {
+        // Descartado
+    }
+
+    @Override
+    public void incrementSwaps() {
+        // Descartado
+    }
+
+    @Override
+    public void incrementPasses() {
+        // Descartado
+    }
+
+    @Override
+    public void addComparisons(long count) {
+        // Descartado
+    }
+
+    @Override
+    public void addSwaps(long count) {
+        // Descartado
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public void reset() {
+        // Nada a limpar
+    }
+
+    @Override
+    public void add(SortingMetrics other) {
+        // Descartado
+    }
+
+    @Override
+    public String toString() {
+        return "Metricas desabilitadas";
+    }
+}
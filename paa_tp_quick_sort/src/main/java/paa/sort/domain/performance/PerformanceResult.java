@@ -13,9 +13,15 @@ public class PerformanceResult {
     private final boolean successful;
     private final long comparisons;
     private final long swaps;
+    private final TimingStatistics timingStatistics;
 
+    /**
+     * @param executionTimeNanos Tempo representativo (media sem outliers quando ha estatisticas)
+     * @param timingStatistics Distribuicao dos tempos medidos, ou null se houve uma unica medicao
+     */
     public PerformanceResult(String algorithmName, String dataType, int arraySize,
-                           long executionTimeNanos, boolean successful, long comparisons, long swaps) {
+                           long executionTimeNanos, boolean successful, long comparisons, long swaps,
+                           TimingStatistics timingStatistics) {
         this.algorithmName = algorithmName;
         this.dataType = dataType;
         this.arraySize = arraySize;
@@ -23,6 +29,12 @@ public class PerformanceResult {
         this.successful = successful;
         this.comparisons = comparisons;
         this.swaps = swaps;
+        this.timingStatistics = timingStatistics;
+    }
+
+    public PerformanceResult(String algorithmName, String dataType, int arraySize,
+                           long executionTimeNanos, boolean successful, long comparisons, long swaps) {
+        this(algorithmName, dataType, arraySize, executionTimeNanos, successful, comparisons, swaps, null);
     }
 
     // Construtor para compatibilidade com codigo antigo
@@ -63,9 +75,20 @@ public class PerformanceResult {
         return swaps;
     }
 
+    /**
+     * Distribuicao dos tempos medidos, ou null se nao estiver disponivel
+     */
+    public TimingStatistics getTimingStatistics() {
+        return timingStatistics;
+    }
+
     @Override
     public String toString() {
-        return String.format("%s | %s | Tamanho: %d | Tempo: %.2f ms | Comp: %d | Trocas: %d | Sucesso: %s",
+        String summary = String.format("%s | %s | Tamanho: %d | Tempo: %.2f ms | Comp: %d | Trocas: %d | Sucesso: %s",
                 algorithmName, dataType, arraySize, getExecutionTimeMillis(), comparisons, swaps, successful);
+        if (timingStatistics == null) {
+            return summary;
+        }
+        return summary + " | " + timingStatistics;
     }
 }
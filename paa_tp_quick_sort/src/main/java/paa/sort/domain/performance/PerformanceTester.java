@@ -5,13 +5,12 @@ import paa.sort.domain.testdata.DataType;
 import paa.sort.domain.testdata.TestDataGenerator;
 import paa.sort.domain.exceptions.ValidationException;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Classe responsavel por executar testes de performance dos algoritmos
  */
 public class PerformanceTester {
+    private static final int WARMUP_EXECUTIONS = 5;
+
     private final TestDataGenerator dataGenerator;
 
     public PerformanceTester() {
@@ -23,87 +22,39 @@ public class PerformanceTester {
      */
     public PerformanceResult testAlgorithm(SortingAlgorithm algorithm, DataType dataType, int arraySize)
             throws ValidationException {
-        int[] testData = dataGenerator.generateData(dataType, arraySize);
-
-        // Aquece a JVM
-        warmUp(algorithm, testData);
-
-        long startTime = System.nanoTime();
-        boolean successful = true;
-
-        try {
-            int[] result = algorithm.sort(testData);
-            // Verifica se o resultado esta ordenado
-            if (!isSorted(result)) {
-                successful = false;
-            }
-        } catch (Exception e) {
-            successful = false;
-        }
-
-        long endTime = System.nanoTime();
-        long executionTime = endTime - startTime;
-
-        return new PerformanceResult(
-                algorithm.getName(),
-                dataType.getDescription(),
-                arraySize,
-                executionTime,
-                successful);
+        return testAlgorithmMultipleTimes(algorithm, dataType, arraySize, 1);
     }
 
     /**
-     * Executa multiplos testes e retorna a media dos tempos
+     * Executa multiplos testes sobre a mesma massa de dados e resume a
+     * distribuicao dos tempos. O tempo do resultado e a media sem outliers.
      */
     public PerformanceResult testAlgorithmMultipleTimes(SortingAlgorithm algorithm, DataType dataType,
             int arraySize, int iterations) throws ValidationException {
-        List<PerformanceResult> results = new ArrayList<>();
-
-        for (int i = 0; i < iterations; i++) {
-            results.add(testAlgorithm(algorithm, dataType, arraySize));
-        }
-
-        // Calcula a media dos tempos de execucao
-        long averageTime = results.stream()
-                .mapToLong(PerformanceResult::getExecutionTimeNanos)
-                .sum() / iterations;
-
-        boolean allSuccessful = results.stream().allMatch(PerformanceResult::isSuccessful);
-
-        return new PerformanceResult(
-                algorithm.getName(),
-                dataType.getDescription(),
-                arraySize,
-                averageTime,
-                allSuccessful);
-    }
-
-    /**
-     * Aquece a JVM executando o algoritmo algumas vezes
-     */
-    private void warmUp(SortingAlgorithm algorithm, int[] testData) {
-        for (int i = 0; i < 5; i++) {
-            try {
-                algorithm.sort(testData.clone());
-            } catch (Exception e) {
-                // Ignora excecoes durante o aquecimento
-            }
-        }
-    }
-
-    /**
-     * Verifica se um array esta ordenado
-     */
-    private boolean isSorted(int[] array) {
-        if (array == null || array.length <= 1) {
-            return true;
-        }
+        int[] testData = dataGenerator.generateData(dataType, arraySize);
 
-        for (int i = 1; i < array.length; i++) {
-            if (array[i] < array[i - 1]) {
-                return false;
-            }
+        try {
+            // Aquece a JVM e mede apenas a ordenacao; a verificacao fica fora do tempo
+            MeasurementEngine.Measurement measurement = new MeasurementEngine(WARMUP_EXECUTIONS, iterations)
+                    .measure(algorithm, testData);
+            TimingStatistics statistics = measurement.getStatistics();
+
+            return new PerformanceResult(
+                    algorithm.getName(),
+                    dataType.getDescription(),
+                    arraySize,
+                    Math.round(statistics.getMeanNanos()),
+                    measurement.isSorted(),
+                    0,
+                    0,
+                    statistics);
+        } catch (Exception e) {
+            return new PerformanceResult(
+                    algorithm.getName(),
+                    dataType.getDescription(),
+                    arraySize,
+                    0,
+                    false);
         }
-        return true;
     }
 }
@@ -0,0 +1,47 @@
+package paa.sort.domain.performance;
+
+/**
+ * Faixas de tamanho de array usadas para ajustar o threshold (M) separadamente.
+ * O M ideal muda com o tamanho porque, em arrays grandes, os subarrays finais
+ * ja nao estao no cache quando o Insertion Sort roda. Cada faixa e ajustada
+ * com um array do seu tamanho representativo.
+ */
+public enum SizeBucket {
+    SMALL("Pequeno", 10_000, 1_000),
+    MEDIUM("Medio", 1_000_000, 100_000),
+    LARGE("Grande", Integer.MAX_VALUE, 10_000_000);
+
+    private final String description;
+    private final int maxSize;
+    private final int representativeSize;
+
+    SizeBucket(String description, int maxSize, int representativeSize) {
+        this.description = description;
+        this.maxSize = maxSize;
+        this.representativeSize = representativeSize;
+    }
+
+    /**
+     * Retorna a faixa que contem arrays do tamanho informado
+     */
+    public static SizeBucket of(int arraySize) {
+        for (SizeBucket bucket : values()) {
+            if (arraySize <= bucket.maxSize) {
+                return bucket;
+            }
+        }
+        return LARGE;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getRepresentativeSize() {
+        return representativeSize;
+    }
+}
@@ -1,15 +1,18 @@
 package paa.sort.domain.performance;
 
 /**
- * Classe para armazenar metricas de operacoes durante a ordenacao
+ * Classe para armazenar metricas de operacoes durante a ordenacao.
+ * Para execucoes sem contagem use {@link NoOpSortingMetrics#INSTANCE}.
  */
 public class SortingMetrics {
     private long comparisons;
     private long swaps;
+    private long passes;
 
     public SortingMetrics() {
         this.comparisons = 0;
         this.swaps = 0;
+        this.passes = 0;
     }
 
     public void incrementComparisons() {
@@ -20,6 +23,14 @@ public class SortingMetrics {
         this.swaps++;
     }
 
+    /**
+     * Registra uma passada completa sobre os dados (usado por algoritmos sem
+     * comparacao, como o Radix Sort)
+     */
+    public void incrementPasses() {
+        this.passes++;
+    }
+
     public void addComparisons(long count) {
         this.comparisons += count;
     }
@@ -36,18 +47,31 @@ public class SortingMetrics {
         return swaps;
     }
 
+    public long getPasses() {
+        return passes;
+    }
+
+    /**
+     * Indica se este objeto realmente contabiliza as operacoes
+     */
+    public boolean isEnabled() {
+        return true;
+    }
+
     public void reset() {
         this.comparisons = 0;
         this.swaps = 0;
+        this.passes = 0;
     }
 
     public void add(SortingMetrics other) {
         this.comparisons += other.comparisons;
         this.swaps += other.swaps;
+        this.passes += other.passes;
     }
 
     @Override
     public String toString() {
-        return String.format("Comparacoes: %d, Trocas: %d", comparisons, swaps);
+        return String.format("Comparacoes: %d, Trocas: %d, Passadas: %d", comparisons, swaps, passes);
     }
 }
@@ -1,59 +1,335 @@
 package paa.sort.domain.performance;
 
+import paa.sort.domain.SortingAlgorithm;
 import paa.sort.domain.algorithms.HybridQuickSort;
 import paa.sort.domain.testdata.DataType;
+import paa.sort.domain.testdata.TestDataGenerator;
 import paa.sort.domain.exceptions.ValidationException;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
 
 /**
  * Classe responsavel por determinar empiricamente o melhor threshold (M) para o
- * Quicksort hibrido
+ * Quicksort hibrido.
+ *
+ * A busca e por successive halving: a cada rodada todos os candidatos
+ * restantes recebem mais execucoes cronometradas, os que sao estatisticamente
+ * mais lentos que o melhor (teste t de Welch) saem e, se ainda sobrarem mais da
+ * metade, fica so a metade mais rapida. Assim as execucoes se concentram nos
+ * candidatos proximos do otimo.
+ *
+ * O aquecimento dos candidatos roda em paralelo no ForkJoinPool, mas as
+ * execucoes cronometradas rodam em uma unica thread: em paralelo, cada
+ * candidato disputaria cache e banda de memoria com os que caissem na mesma
+ * leva do pool, o que distorce os tempos de forma desigual. A ordem dos
+ * candidatos e embaralhada a cada iteracao, para que variacoes da maquina ao
+ * longo da rodada nao favorecam uma posicao fixa da lista.
  */
 public class ThresholdOptimizer {
-    private final PerformanceTester performanceTester;
+    // Grade de candidatos, mais densa nos valores pequenos onde o otimo costuma estar
+    private static final int[] CANDIDATE_THRESHOLDS = { 4, 6, 8, 10, 12, 16, 20, 24, 32, 40, 48, 64, 80, 96, 128 };
+    private static final int MAX_ROUNDS = 5;
+    // Estatistica t acima da qual a diferenca de medias e significativa (~95%)
+    private static final double SIGNIFICANT_T = 2.0;
+    // Aquecimento ordena ao menos este total de elementos, para o JIT compilar o algoritmo
+    private static final int WARMUP_ELEMENTS = 2_000_000;
+    // Aquecimento usa no maximo este prefixo do array, para nao pesar nos arrays grandes
+    private static final int WARMUP_SIZE_LIMIT = 100_000;
+    // Cada amostra ordena ao menos este total de elementos, para arrays pequenos
+    // nao ficarem no limite de resolucao do System.nanoTime()
+    private static final int SAMPLE_ELEMENTS = 100_000;
+
+    private final TestDataGenerator dataGenerator;
+    private final IntFunction<SortingAlgorithm> algorithmFactory;
+    private final ForkJoinPool pool;
 
     public ThresholdOptimizer() {
-        this.performanceTester = new PerformanceTester();
+        this(HybridQuickSort::new);
+    }
+
+    /**
+     * @param algorithmFactory Cria o algoritmo ajustado a partir do threshold
+     */
+    public ThresholdOptimizer(IntFunction<SortingAlgorithm> algorithmFactory) {
+        this(algorithmFactory, ForkJoinPool.commonPool());
+    }
+
+    public ThresholdOptimizer(IntFunction<SortingAlgorithm> algorithmFactory, ForkJoinPool pool) {
+        this.dataGenerator = new TestDataGenerator(42); // Seed fixo para reproduzibilidade
+        this.algorithmFactory = algorithmFactory;
+        this.pool = pool;
+    }
+
+    /**
+     * Identifica o algoritmo ajustado: o nome da instancia criada pela fabrica
+     * com o menor threshold candidato. Muda quando a fabrica passa a criar
+     * outro algoritmo ou outra configuracao (pivo, caso base), o que invalida
+     * thresholds ajustados antes.
+     */
+    public String getAlgorithmName() {
+        return algorithmFactory.apply(CANDIDATE_THRESHOLDS[0]).getName();
     }
 
     /**
-     * Determina o melhor threshold testando diferentes valores
+     * Determina o melhor threshold para dados aleatorios
      */
     public OptimizationResult findOptimalThreshold(int arraySize, int iterations) throws ValidationException {
+        return findOptimalThreshold(DataType.RANDOM, arraySize, iterations);
+    }
+
+    /**
+     * Ajusta o threshold para cada tipo de dados em cada faixa de tamanho,
+     * usando o tamanho representativo da faixa
+     *
+     * @param iterations Execucoes cronometradas por candidato em cada rodada
+     */
+    public ThresholdTable findOptimalThresholds(DataType[] dataTypes, SizeBucket[] buckets, int iterations,
+            int defaultThreshold) throws ValidationException {
+        ThresholdTable table = new ThresholdTable(defaultThreshold);
+
+        for (DataType dataType : dataTypes) {
+            for (SizeBucket bucket : buckets) {
+                OptimizationResult result = findOptimalThreshold(
+                        dataType, bucket.getRepresentativeSize(), iterations);
+                table.put(dataType, bucket, result.getOptimalThreshold());
+            }
+        }
+
+        return table;
+    }
+
+    /**
+     * Determina o melhor threshold para um tipo de dados e tamanho de array
+     *
+     * @param iterations Execucoes cronometradas por candidato em cada rodada
+     */
+    public OptimizationResult findOptimalThreshold(DataType dataType, int arraySize, int iterations)
+            throws ValidationException {
+        if (iterations < 2) {
+            throw new ValidationException("Sao necessarias ao menos 2 iteracoes por rodada", "iterations",
+                    iterations);
+        }
+
         System.out.println("Determinando o melhor threshold (M) para o Quicksort hibrido...");
-        System.out.println("Tamanho do array: " + arraySize + ", Iteracoes: " + iterations);
-        System.out.println();
+        System.out.println("Dados: " + dataType.getDescription() + ", Tamanho do array: " + arraySize
+                + ", Iteracoes por rodada: " + iterations);
 
-        List<ThresholdResult> results = new ArrayList<>();
+        int[] originalArray = dataGenerator.generateData(dataType, arraySize);
+        int[] warmupArray = Arrays.copyOf(originalArray, Math.min(arraySize, WARMUP_SIZE_LIMIT));
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (int threshold : CANDIDATE_THRESHOLDS) {
+            candidates.add(new Candidate(threshold, algorithmFactory.apply(threshold)));
+        }
 
-        // Testa diferentes valores de threshold
-        int[] thresholds = { 5, 10, 15, 20, 25, 30, 40, 50, 75, 100 };
+        int warmupExecutions = Math.max(WARMUP_ELEMENTS / Math.max(warmupArray.length, 1), 3);
+        int batchSize = Math.max(SAMPLE_ELEMENTS / Math.max(arraySize, 1), 1);
+        runInParallel(candidates, candidate -> candidate.warmUp(warmupArray, warmupExecutions));
 
-        for (int threshold : thresholds) {
-            HybridQuickSort algorithm = new HybridQuickSort(threshold);
+        int[][] batch = new int[batchSize][arraySize];
+        Random orderRandom = new Random(42); // Seed fixo para reproduzibilidade
+        List<Candidate> survivors = new ArrayList<>(candidates);
+        survivors.removeIf(Candidate::isFailed);
+        for (int round = 1; round <= MAX_ROUNDS && !survivors.isEmpty(); round++) {
+            measureInterleaved(survivors, originalArray, iterations, batch, orderRandom);
+            survivors.removeIf(Candidate::isFailed);
+            if (survivors.isEmpty()) {
+                break;
+            }
 
-            // Testa com dados aleatorios
-            PerformanceResult result = performanceTester.testAlgorithmMultipleTimes(
-                    algorithm, DataType.RANDOM, arraySize, iterations);
+            // Descarta os significativamente mais lentos que o melhor
+            Candidate best = survivors.stream().min(Comparator.comparingDouble(Candidate::mean)).get();
+            survivors.removeIf(candidate -> candidate != best && candidate.isSignificantlySlowerThan(best));
 
-            results.add(new ThresholdResult(threshold, result.getExecutionTimeNanos()));
+            // Successive halving: fica no maximo a metade mais rapida
+            if (survivors.size() > 1) {
+                survivors.sort(Comparator.comparingDouble(Candidate::mean));
+                int keep = Math.max((candidates.size() + 1) >> round, 1);
+                if (survivors.size() > keep) {
+                    survivors.subList(keep, survivors.size()).clear();
+                }
+            }
+
+            System.out.printf("Rodada %d: %d candidato(s) restante(s), melhor ate agora M=%d (%.2f ms)%n",
+                    round, survivors.size(), best.threshold, best.mean() / 1_000_000.0);
+            if (survivors.size() == 1) {
+                break;
+            }
+        }
 
-            System.out.printf("Threshold M=%d: %.2f ms%n",
-                    threshold, result.getExecutionTimeMillis());
+        if (survivors.isEmpty()) {
+            throw new ValidationException("Nenhum threshold ordenou os dados corretamente", "dataType", dataType);
         }
 
-        // Encontra o melhor threshold
-        ThresholdResult best = results.stream()
-                .min((r1, r2) -> Long.compare(r1.getExecutionTime(), r2.getExecutionTime()))
-                .orElse(results.get(0));
+        List<ThresholdResult> results = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            if (!candidate.isFailed() && candidate.sampleCount() > 0) {
+                results.add(new ThresholdResult(candidate.threshold, (long) candidate.mean(),
+                        candidate.sampleCount()));
+            }
+        }
 
+        Candidate best = survivors.stream().min(Comparator.comparingDouble(Candidate::mean)).get();
+        System.out.printf("Melhor threshold determinado: M=%d (%.2f ms, %d execucoes)%n",
+                best.threshold, best.mean() / 1_000_000.0, best.sampleCount());
         System.out.println();
-        System.out.printf("Melhor threshold determinado: M=%d (%.2f ms)%n",
-                best.getThreshold(), best.getExecutionTime() / 1_000_000.0);
 
-        return new OptimizationResult(best.getThreshold(), results);
+        return new OptimizationResult(best.threshold, results);
+    }
+
+    /**
+     * Coleta iterations amostras de cada candidato na thread atual, com a
+     * ordem dos candidatos embaralhada a cada iteracao
+     */
+    private static void measureInterleaved(List<Candidate> candidates, int[] originalArray, int iterations,
+            int[][] batch, Random orderRandom) {
+        List<Candidate> order = new ArrayList<>(candidates);
+        for (int i = 0; i < iterations; i++) {
+            Collections.shuffle(order, orderRandom);
+            for (Candidate candidate : order) {
+                candidate.measure(originalArray, batch);
+            }
+        }
+    }
+
+    /**
+     * Executa a acao para cada candidato no pool e espera todas terminarem
+     */
+    private void runInParallel(List<Candidate> candidates, CandidateAction action) {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            tasks.add(() -> {
+                action.run(candidate);
+                return null;
+            });
+        }
+
+        for (Future<Void> future : pool.invokeAll(tasks)) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Otimizacao de threshold interrompida", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Falha ao avaliar threshold", e.getCause());
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface CandidateAction {
+        void run(Candidate candidate);
+    }
+
+    /**
+     * Estado de um threshold candidato: tempos coletados ao longo das rodadas
+     */
+    private static class Candidate {
+        private final int threshold;
+        private final SortingAlgorithm algorithm;
+        private final List<Long> executionTimes = new ArrayList<>();
+        private boolean failed;
+
+        Candidate(int threshold, SortingAlgorithm algorithm) {
+            this.threshold = threshold;
+            this.algorithm = algorithm;
+        }
+
+        void warmUp(int[] warmupArray, int warmupExecutions) {
+            for (int i = 0; i < warmupExecutions && !failed; i++) {
+                int[] warmupData = warmupArray.clone();
+                failed = !sortSafely(warmupData) || !isSorted(warmupData);
+            }
+        }
+
+        /**
+         * Coleta uma amostra: o tempo medio de ordenacao das copias do lote
+         */
+        void measure(int[] originalArray, int[][] batch) {
+            if (failed) {
+                return;
+            }
+            for (int[] copy : batch) {
+                System.arraycopy(originalArray, 0, copy, 0, originalArray.length); // Copias fora da medicao
+            }
+
+            boolean completed = true;
+            long startTime = System.nanoTime();
+            for (int j = 0; j < batch.length && completed; j++) {
+                completed = sortSafely(batch[j]);
+            }
+            long executionTime = (System.nanoTime() - startTime) / batch.length;
+
+            // Verificacao fora da medicao de tempo
+            for (int j = 0; j < batch.length && completed; j++) {
+                completed = isSorted(batch[j]);
+            }
+            failed = !completed;
+            if (!failed) {
+                executionTimes.add(executionTime);
+            }
+        }
+
+        private boolean sortSafely(int[] data) {
+            try {
+                algorithm.sort(data, 0, data.length, NoOpSortingMetrics.INSTANCE);
+                return true;
+            } catch (StackOverflowError | RuntimeException e) {
+                // Threshold que nao consegue ordenar estes dados fica fora da busca
+                return false;
+            }
+        }
+
+        boolean isFailed() {
+            return failed;
+        }
+
+        int sampleCount() {
+            return executionTimes.size();
+        }
+
+        double mean() {
+            return executionTimes.stream().mapToLong(Long::longValue).average().orElse(Double.MAX_VALUE);
+        }
+
+        double variance() {
+            double mean = mean();
+            double sumOfSquares = 0;
+            for (long time : executionTimes) {
+                sumOfSquares += (time - mean) * (time - mean);
+            }
+            return sumOfSquares / (executionTimes.size() - 1);
+        }
+
+        /**
+         * Teste t de Welch: este candidato e mais lento que o outro com ~95% de confianca
+         */
+        boolean isSignificantlySlowerThan(Candidate other) {
+            double standardError = Math.sqrt(variance() / sampleCount() + other.variance() / other.sampleCount());
+            if (standardError == 0) {
+                return mean() > other.mean();
+            }
+            return (mean() - other.mean()) / standardError > SIGNIFICANT_T;
+        }
+    }
+
+    private static boolean isSorted(int[] array) {
+        for (int i = 1; i < array.length; i++) {
+            if (array[i] < array[i - 1]) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -62,10 +338,16 @@ public class ThresholdOptimizer {
     public static class ThresholdResult {
         private final int threshold;
         private final long executionTime;
+        private final int sampleCount;
 
         public ThresholdResult(int threshold, long executionTime) {
+            this(threshold, executionTime, 1);
+        }
+
+        public ThresholdResult(int threshold, long executionTime, int sampleCount) {
             this.threshold = threshold;
             this.executionTime = executionTime;
+            this.sampleCount = sampleCount;
         }
 
         public int getThreshold() {
@@ -75,6 +357,13 @@ public class ThresholdOptimizer {
         public long getExecutionTime() {
             return executionTime;
         }
+
+        /**
+         * Execucoes cronometradas que formaram a media; candidatos eliminados cedo tem menos
+         */
+        public int getSampleCount() {
+            return sampleCount;
+        }
     }
 
     /**
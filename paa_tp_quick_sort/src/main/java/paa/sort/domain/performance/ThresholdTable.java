@@ -0,0 +1,50 @@
+package paa.sort.domain.performance;
+
+import paa.sort.domain.testdata.DataType;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Thresholds (M) ajustados por tipo de dados e faixa de tamanho. Combinacoes
+ * que nao foram ajustadas usam o threshold padrao.
+ */
+public class ThresholdTable {
+    private final int defaultThreshold;
+    private final Map<DataType, Map<SizeBucket, Integer>> thresholds = new EnumMap<>(DataType.class);
+
+    public ThresholdTable(int defaultThreshold) {
+        this.defaultThreshold = defaultThreshold;
+    }
+
+    public void put(DataType dataType, SizeBucket bucket, int threshold) {
+        thresholds.computeIfAbsent(dataType, type -> new EnumMap<>(SizeBucket.class)).put(bucket, threshold);
+    }
+
+    public boolean contains(DataType dataType, SizeBucket bucket) {
+        Map<SizeBucket, Integer> byBucket = thresholds.get(dataType);
+        return byBucket != null && byBucket.containsKey(bucket);
+    }
+
+    /**
+     * Threshold ajustado para o tipo e a faixa, ou o padrao se nao houver
+     */
+    public int get(DataType dataType, SizeBucket bucket) {
+        Map<SizeBucket, Integer> byBucket = thresholds.get(dataType);
+        if (byBucket == null) {
+            return defaultThreshold;
+        }
+        return byBucket.getOrDefault(bucket, defaultThreshold);
+    }
+
+    /**
+     * Threshold para ordenar um array do tipo e tamanho informados
+     */
+    public int thresholdFor(DataType dataType, int arraySize) {
+        return get(dataType, SizeBucket.of(arraySize));
+    }
+
+    public int getDefaultThreshold() {
+        return defaultThreshold;
+    }
+}
@@ -0,0 +1,181 @@
+package paa.sort.domain.performance;
+
+import java.util.Arrays;
+
+/**
+ * Distribuicao dos tempos de uma medicao (em nanossegundos por ordenacao).
+ *
+ * Minimo, mediana, p90 e p99 usam todas as amostras, pois a cauda da
+ * distribuicao e justamente o que esses valores mostram. Media, desvio padrao
+ * e intervalo de confianca de 95% usam so as amostras dentro das cercas de
+ * Tukey (Q1 - 1.5*IQR, Q3 + 1.5*IQR), para que uma pausa do GC ou uma troca de
+ * contexto isolada nao desloque a media.
+ */
+public class TimingStatistics {
+    private static final double NANOS_TO_MILLIS = 1_000_000.0;
+    private static final double TUKEY_FENCE = 1.5;
+    // Abaixo disso os quartis nao separam outliers de forma confiavel
+    private static final int MIN_SAMPLES_FOR_REJECTION = 4;
+    // Valores criticos t (bicaudal, 95%) para 1 a 30 graus de liberdade
+    private static final double[] T_CRITICAL_95 = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042 };
+    private static final double Z_CRITICAL_95 = 1.96;
+
+    private final int sampleCount;
+    private final int outliersRejected;
+    private final long min;
+    private final long median;
+    private final long p90;
+    private final long p99;
+    private final double mean;
+    private final double standardDeviation;
+    private final double confidenceHalfWidth;
+
+    private TimingStatistics(int sampleCount, int outliersRejected, long min, long median, long p90, long p99,
+                             double mean, double standardDeviation, double confidenceHalfWidth) {
+        this.sampleCount = sampleCount;
+        this.outliersRejected = outliersRejected;
+        this.min = min;
+        this.median = median;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.mean = mean;
+        this.standardDeviation = standardDeviation;
+        this.confidenceHalfWidth = confidenceHalfWidth;
+    }
+
+    /**
+     * Calcula as estatisticas de um conjunto de amostras de tempo
+     *
+     * @throws IllegalArgumentException se nao houver amostras
+     */
+    public static TimingStatistics of(long[] samples) {
+        if (samples.length == 0) {
+            throw new IllegalArgumentException("Nenhuma amostra de tempo");
+        }
+
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+
+        // Rejeicao de outliers pelas cercas de Tukey
+        long[] retained = sorted;
+        if (sorted.length >= MIN_SAMPLES_FOR_REJECTION) {
+            double firstQuartile = percentile(sorted, 25);
+            double thirdQuartile = percentile(sorted, 75);
+            double interquartileRange = thirdQuartile - firstQuartile;
+            double lowerFence = firstQuartile - TUKEY_FENCE * interquartileRange;
+            double upperFence = thirdQuartile + TUKEY_FENCE * interquartileRange;
+            retained = Arrays.stream(sorted).filter(time -> time >= lowerFence && time <= upperFence).toArray();
+        }
+
+        double mean = Arrays.stream(retained).average().orElse(0);
+        double standardDeviation = 0;
+        double confidenceHalfWidth = 0;
+        if (retained.length > 1) {
+            double sumOfSquares = 0;
+            for (long time : retained) {
+                sumOfSquares += (time - mean) * (time - mean);
+            }
+            standardDeviation = Math.sqrt(sumOfSquares / (retained.length - 1));
+            confidenceHalfWidth = tCritical(retained.length - 1) * standardDeviation / Math.sqrt(retained.length);
+        }
+
+        return new TimingStatistics(
+                sorted.length,
+                sorted.length - retained.length,
+                sorted[0],
+                Math.round(percentile(sorted, 50)),
+                Math.round(percentile(sorted, 90)),
+                Math.round(percentile(sorted, 99)),
+                mean,
+                standardDeviation,
+                confidenceHalfWidth);
+    }
+
+    /**
+     * Percentil com interpolacao linear entre as posicoes vizinhas
+     */
+    private static double percentile(long[] sorted, double percent) {
+        double position = percent / 100.0 * (sorted.length - 1);
+        int lowerIndex = (int) Math.floor(position);
+        int upperIndex = (int) Math.ceil(position);
+        double fraction = position - lowerIndex;
+        return sorted[lowerIndex] + fraction * (sorted[upperIndex] - sorted[lowerIndex]);
+    }
+
+    private static double tCritical(int degreesOfFreedom) {
+        if (degreesOfFreedom <= T_CRITICAL_95.length) {
+            return T_CRITICAL_95[degreesOfFreedom - 1];
+        }
+        return Z_CRITICAL_95;
+    }
+
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    public int getOutliersRejected() {
+        return outliersRejected;
+    }
+
+    public long getMinNanos() {
+        return min;
+    }
+
+    public long getMedianNanos() {
+        return median;
+    }
+
+    public long getP90Nanos() {
+        return p90;
+    }
+
+    public long getP99Nanos() {
+        return p99;
+    }
+
+    /**
+     * Media sem os outliers
+     */
+    public double getMeanNanos() {
+        return mean;
+    }
+
+    public double getStandardDeviationNanos() {
+        return standardDeviation;
+    }
+
+    /**
+     * Meia largura do intervalo de confianca de 95% da media
+     */
+    public double getConfidenceHalfWidthNanos() {
+        return confidenceHalfWidth;
+    }
+
+    public double getConfidenceLowerNanos() {
+        return mean - confidenceHalfWidth;
+    }
+
+    public double getConfidenceUpperNanos() {
+        return mean + confidenceHalfWidth;
+    }
+
+    public double getMedianMillis() {
+        return median / NANOS_TO_MILLIS;
+    }
+
+    public double getConfidenceHalfWidthMillis() {
+        return confidenceHalfWidth / NANOS_TO_MILLIS;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Min: %.3f ms | Mediana: %.3f ms | p90: %.3f ms | p99: %.3f ms | "
+                        + "Media: %.3f ms +- %.3f (IC95) | Desvio: %.3f ms | Amostras: %d (%d outliers)",
+                min / NANOS_TO_MILLIS, median / NANOS_TO_MILLIS, p90 / NANOS_TO_MILLIS, p99 / NANOS_TO_MILLIS,
+                mean / NANOS_TO_MILLIS, confidenceHalfWidth / NANOS_TO_MILLIS, standardDeviation / NANOS_TO_MILLIS,
+                sampleCount, outliersRejected);
+    }
+}
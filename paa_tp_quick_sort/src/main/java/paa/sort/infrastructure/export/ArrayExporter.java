@@ -1,6 +1,7 @@
 package paa.sort.infrastructure.export;
 
 import paa.sort.domain.performance.PerformanceResult;
+import paa.sort.domain.performance.TimingStatistics;
 import paa.sort.domain.testdata.DataType;
 import paa.sort.domain.exceptions.FileOperationException;
 import paa.sort.domain.exceptions.ValidationException;
@@ -183,6 +184,7 @@ public class ArrayExporter {
                 writer.write(String.format("Tamanho do Array: %d elementos\n", result.getArraySize()));
                 writer.write(String.format("Tempo de Execucao: %.3f ms (%.0f ns)\n",
                         result.getExecutionTimeMillis(), (double) result.getExecutionTimeNanos()));
+                writeTimingStatistics(writer, result.getTimingStatistics());
                 writer.write(String.format("Comparacoes: %d\n", result.getComparisons()));
                 writer.write(String.format("Trocas/Movimentos: %d\n", result.getSwaps()));
                 writer.write(String.format("Status: %s\n", result.isSuccessful() ? "SUCESSO" : "FALHA"));
@@ -194,6 +196,23 @@ public class ArrayExporter {
         }
     }
 
+    /**
+     * Escreve a distribuicao dos tempos, quando o resultado a possui
+     */
+    private void writeTimingStatistics(FileWriter writer, TimingStatistics statistics) throws IOException {
+        if (statistics == null) {
+            return;
+        }
+        writer.write(String.format("  Min / Mediana / p90 / p99: %.0f / %.0f / %.0f / %.0f ns\n",
+                (double) statistics.getMinNanos(), (double) statistics.getMedianNanos(),
+                (double) statistics.getP90Nanos(), (double) statistics.getP99Nanos()));
+        writer.write(String.format("  Desvio padrao: %.0f ns | IC 95%% da media: [%.0f, %.0f] ns\n",
+                statistics.getStandardDeviationNanos(), statistics.getConfidenceLowerNanos(),
+                statistics.getConfidenceUpperNanos()));
+        writer.write(String.format("  Amostras: %d (%d outliers descartados da media)\n",
+                statistics.getSampleCount(), statistics.getOutliersRejected()));
+    }
+
     /**
      * Salva um resumo geral de todos os testes
      */
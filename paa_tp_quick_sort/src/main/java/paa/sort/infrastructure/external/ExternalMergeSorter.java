@@ -0,0 +1,382 @@
+package paa.sort.infrastructure.external;
+
+import paa.sort.domain.SortingAlgorithm;
+import paa.sort.domain.algorithms.IntroSort;
+import paa.sort.domain.exceptions.FileOperationException;
+import paa.sort.infrastructure.logging.ExceptionLogger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Ordenacao externa de arquivos binarios de inteiros (4 bytes por elemento)
+ * maiores que a memoria disponivel:
+ * 1. o arquivo e lido em blocos por um FileChannel mapeado em memoria;
+ * 2. cada bloco e ordenado em um int[] pelo Introsort e gravado em
+ *    disco como um run ordenado;
+ * 3. os runs sao intercalados (k-way merge com heap minimo) no arquivo de
+ *    saida, em mais de uma passada se forem muitos para o orcamento.
+ *
+ * O orcamento de memoria limita o tamanho dos blocos ordenados e a soma dos
+ * buffers de leitura usados na intercalacao.
+ */
+public class ExternalMergeSorter {
+    private static final int DEFAULT_THRESHOLD = 16;
+    private static final long MIN_MEMORY_BUDGET_BYTES = 4 * 1024;
+    // Cada run intercalado precisa de pelo menos este buffer para a leitura ser eficiente
+    private static final int MIN_MERGE_BUFFER_BYTES = 64 * 1024;
+    private static final int MIN_IO_BUFFER_BYTES = 256;
+    private static final int MAX_IO_BUFFER_BYTES = 8 * 1024 * 1024;
+    private static final int MAX_FAN_IN = 1024;
+    // FileChannel.map e int[] sao limitados a Integer.MAX_VALUE
+    private static final int MAX_CHUNK_ELEMENTS = (Integer.MAX_VALUE - 8) / Integer.BYTES;
+
+    private final SortingAlgorithm chunkSorter;
+    private final long memoryBudgetBytes;
+    private final Path tempDirectory;
+    private final ByteOrder byteOrder;
+    private final ExceptionLogger exceptionLogger;
+
+    /**
+     * Cria o ordenador com o Introsort, arquivos temporarios no diretorio
+     * temporario do sistema e inteiros big-endian (mesmo formato de
+     * DataOutputStream). O Introsort limita a profundidade da recursao, entao
+     * blocos com muitas chaves repetidas nao estouram a pilha nem ficam
+     * quadraticos, o que com o Quicksort hibrido deixaria runs orfaos em disco.
+     * @param memoryBudgetBytes Memoria maxima usada para blocos e buffers
+     */
+    public ExternalMergeSorter(long memoryBudgetBytes) {
+        this(new IntroSort(DEFAULT_THRESHOLD), memoryBudgetBytes,
+                Paths.get(System.getProperty("java.io.tmpdir")), ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * @param chunkSorter Algoritmo usado para ordenar cada bloco em memoria
+     * @param memoryBudgetBytes Memoria maxima usada para blocos e buffers
+     * @param tempDirectory Diretorio onde os runs temporarios sao gravados
+     * @param byteOrder Ordem dos bytes dos inteiros nos arquivos
+     */
+    public ExternalMergeSorter(SortingAlgorithm chunkSorter, long memoryBudgetBytes, Path tempDirectory,
+            ByteOrder byteOrder) {
+        if (memoryBudgetBytes < MIN_MEMORY_BUDGET_BYTES) {
+            throw new IllegalArgumentException("Orcamento de memoria deve ser de pelo menos "
+                    + MIN_MEMORY_BUDGET_BYTES + " bytes: " + memoryBudgetBytes);
+        }
+        this.chunkSorter = chunkSorter;
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.tempDirectory = tempDirectory;
+        this.byteOrder = byteOrder;
+        this.exceptionLogger = ExceptionLogger.getInstance();
+    }
+
+    /**
+     * Ordena o arquivo de entrada e grava o resultado no arquivo de saida
+     * @param inputFile Arquivo binario de inteiros a ordenar
+     * @param outputFile Arquivo de saida (sobrescrito se existir)
+     * @throws FileOperationException se a leitura, a gravacao ou o formato do arquivo falharem
+     */
+    public void sort(Path inputFile, Path outputFile) throws FileOperationException {
+        Set<Path> temporaryFiles = new LinkedHashSet<>();
+        try {
+            List<Path> runs = createSortedRuns(inputFile, temporaryFiles);
+            int initialRunCount = runs.size();
+
+            if (runs.isEmpty()) {
+                Files.write(outputFile, new byte[0]);
+            } else if (runs.size() == 1) {
+                Files.move(runs.get(0), outputFile, StandardCopyOption.REPLACE_EXISTING);
+                temporaryFiles.remove(runs.get(0));
+            } else {
+                runs = reduceRuns(runs, temporaryFiles);
+                mergeRuns(runs, outputFile);
+            }
+
+            exceptionLogger.logInfo("Ordenacao externa concluida: " + inputFile + " -> " + outputFile
+                    + " (" + initialRunCount + " runs)", "Ordenacao externa");
+
+        } catch (IOException e) {
+            FileOperationException fileException = new FileOperationException(
+                    "Falha na ordenacao externa: " + e.getMessage(),
+                    "EXTERNAL_SORT",
+                    inputFile,
+                    e);
+            exceptionLogger.logFileOperationError(fileException, "Saida: " + outputFile);
+            throw fileException;
+        } finally {
+            deleteTemporaryFiles(temporaryFiles);
+        }
+    }
+
+    /**
+     * Fase 1: le o arquivo em blocos mapeados, ordena cada bloco em memoria e
+     * grava-o como um run
+     */
+    private List<Path> createSortedRuns(Path inputFile, Set<Path> temporaryFiles) throws IOException {
+        List<Path> runs = new ArrayList<>();
+
+        try (FileChannel inputChannel = FileChannel.open(inputFile, StandardOpenOption.READ)) {
+            long fileSize = inputChannel.size();
+            if (fileSize % Integer.BYTES != 0) {
+                throw new IOException("Tamanho do arquivo (" + fileSize + " bytes) nao e multiplo de "
+                        + Integer.BYTES);
+            }
+
+            // O orcamento e dividido entre o bloco em memoria e o buffer de gravacao do run
+            long elementCount = fileSize / Integer.BYTES;
+            int writeBufferBytes = ioBufferBytes(memoryBudgetBytes / 16);
+            int chunkElements = (int) Math.min(MAX_CHUNK_ELEMENTS,
+                    Math.min(elementCount, (memoryBudgetBytes - writeBufferBytes) / Integer.BYTES));
+            int[] chunk = new int[chunkElements];
+
+            for (long firstElement = 0; firstElement < elementCount; firstElement += chunkElements) {
+                int length = (int) Math.min(chunkElements, elementCount - firstElement);
+
+                MappedByteBuffer mappedChunk = inputChannel.map(FileChannel.MapMode.READ_ONLY,
+                        firstElement * Integer.BYTES, (long) length * Integer.BYTES);
+                mappedChunk.order(byteOrder).asIntBuffer().get(chunk, 0, length);
+
+                chunkSorter.sort(chunk, 0, length);
+
+                Path run = createTemporaryFile(temporaryFiles);
+                try (RunWriter writer = new RunWriter(run, writeBufferBytes, byteOrder)) {
+                    writer.write(chunk, length);
+                }
+                runs.add(run);
+            }
+        }
+
+        return runs;
+    }
+
+    /**
+     * Intercala grupos de runs ate que a quantidade caiba no fan-in permitido
+     * pelo orcamento de memoria
+     */
+    private List<Path> reduceRuns(List<Path> runs, Set<Path> temporaryFiles) throws IOException {
+        int maxFanIn = maxFanIn();
+
+        while (runs.size() > maxFanIn) {
+            List<Path> mergedRuns = new ArrayList<>();
+            for (int groupStart = 0; groupStart < runs.size(); groupStart += maxFanIn) {
+                List<Path> group = runs.subList(groupStart, Math.min(runs.size(), groupStart + maxFanIn));
+                if (group.size() == 1) {
+                    mergedRuns.add(group.get(0));
+                    continue;
+                }
+
+                Path mergedRun = createTemporaryFile(temporaryFiles);
+                mergeRuns(group, mergedRun);
+                for (Path run : group) {
+                    Files.deleteIfExists(run);
+                    temporaryFiles.remove(run);
+                }
+                mergedRuns.add(mergedRun);
+            }
+            runs = mergedRuns;
+        }
+
+        return runs;
+    }
+
+    private int maxFanIn() {
+        long fanIn = memoryBudgetBytes / MIN_MERGE_BUFFER_BYTES - 1;
+        return (int) Math.max(2, Math.min(MAX_FAN_IN, fanIn));
+    }
+
+    /**
+     * Fase 2: k-way merge dos runs usando um heap minimo de (valor, run)
+     */
+    private void mergeRuns(List<Path> runs, Path outputFile) throws IOException {
+        int runCount = runs.size();
+        int bufferBytes = ioBufferBytes(memoryBudgetBytes / (runCount + 1));
+
+        RunReader[] readers = new RunReader[runCount];
+        try (RunWriter writer = new RunWriter(outputFile, bufferBytes, byteOrder)) {
+            int[] heapValues = new int[runCount];
+            int[] heapRuns = new int[runCount];
+            int heapSize = 0;
+
+            for (int run = 0; run < runCount; run++) {
+                readers[run] = new RunReader(runs.get(run), bufferBytes, byteOrder);
+                if (readers[run].hasNext()) {
+                    heapValues[heapSize] = readers[run].next();
+                    heapRuns[heapSize] = run;
+                    heapSize++;
+                }
+            }
+
+            for (int rootIndex = heapSize / 2 - 1; rootIndex >= 0; rootIndex--) {
+                siftDown(heapValues, heapRuns, rootIndex, heapSize);
+            }
+
+            while (heapSize > 0) {
+                writer.write(heapValues[0]);
+
+                // Repoe o topo com o proximo valor do mesmo run, ou o remove se o run acabou
+                RunReader reader = readers[heapRuns[0]];
+                if (reader.hasNext()) {
+                    heapValues[0] = reader.next();
+                } else {
+                    heapSize--;
+                    heapValues[0] = heapValues[heapSize];
+                    heapRuns[0] = heapRuns[heapSize];
+                }
+                siftDown(heapValues, heapRuns, 0, heapSize);
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                if (reader != null) {
+                    reader.close();
+                }
+            }
+        }
+    }
+
+    private static void siftDown(int[] heapValues, int[] heapRuns, int rootIndex, int heapSize) {
+        int valueToSift = heapValues[rootIndex];
+        int runToSift = heapRuns[rootIndex];
+        int currentIndex = rootIndex;
+
+        while (true) {
+            int childIndex = 2 * currentIndex + 1;
+            if (childIndex >= heapSize) {
+                break;
+            }
+            if (childIndex + 1 < heapSize && heapValues[childIndex + 1] < heapValues[childIndex]) {
+                childIndex++;
+            }
+            if (valueToSift <= heapValues[childIndex]) {
+                break;
+            }
+            heapValues[currentIndex] = heapValues[childIndex];
+            heapRuns[currentIndex] = heapRuns[childIndex];
+            currentIndex = childIndex;
+        }
+
+        heapValues[currentIndex] = valueToSift;
+        heapRuns[currentIndex] = runToSift;
+    }
+
+    /**
+     * Tamanho de buffer multiplo de 4 bytes entre MIN_IO_BUFFER_BYTES e MAX_IO_BUFFER_BYTES
+     */
+    private static int ioBufferBytes(long availableBytes) {
+        long bufferBytes = Math.max(MIN_IO_BUFFER_BYTES, Math.min(MAX_IO_BUFFER_BYTES, availableBytes));
+        return (int) bufferBytes & -Integer.BYTES;
+    }
+
+    private Path createTemporaryFile(Set<Path> temporaryFiles) throws IOException {
+        Path run = Files.createTempFile(tempDirectory, "run_", ".bin");
+        temporaryFiles.add(run);
+        return run;
+    }
+
+    private void deleteTemporaryFiles(Set<Path> temporaryFiles) {
+        for (Path temporaryFile : temporaryFiles) {
+            try {
+                Files.deleteIfExists(temporaryFile);
+            } catch (IOException e) {
+                exceptionLogger.logWarning("Nao foi possivel remover o arquivo temporario " + temporaryFile
+                        + ": " + e.getMessage(), "Ordenacao externa");
+            }
+        }
+    }
+
+    /**
+     * Leitura sequencial bufferizada de um run
+     */
+    private static class RunReader implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        private RunReader(Path run, int bufferBytes, ByteOrder byteOrder) throws IOException {
+            this.channel = FileChannel.open(run, StandardOpenOption.READ);
+            this.buffer = ByteBuffer.allocateDirect(bufferBytes).order(byteOrder);
+            this.buffer.flip(); // Comeca vazio
+        }
+
+        private boolean hasNext() throws IOException {
+            if (buffer.remaining() < Integer.BYTES) {
+                buffer.compact();
+                while (buffer.hasRemaining() && channel.read(buffer) > 0) {
+                    // Continua lendo ate encher o buffer ou chegar ao fim do arquivo
+                }
+                buffer.flip();
+            }
+            return buffer.remaining() >= Integer.BYTES;
+        }
+
+        private int next() {
+            return buffer.getInt();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Gravacao sequencial bufferizada de um run ou do arquivo de saida
+     */
+    private static class RunWriter implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        private RunWriter(Path file, int bufferBytes, ByteOrder byteOrder) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            this.buffer = ByteBuffer.allocateDirect(bufferBytes).order(byteOrder);
+        }
+
+        private void write(int value) throws IOException {
+            if (buffer.remaining() < Integer.BYTES) {
+                flush();
+            }
+            buffer.putInt(value);
+        }
+
+        private void write(int[] values, int length) throws IOException {
+            int written = 0;
+            while (written < length) {
+                if (buffer.remaining() < Integer.BYTES) {
+                    flush();
+                }
+                int batch = Math.min(length - written, buffer.remaining() / Integer.BYTES);
+                buffer.asIntBuffer().put(values, written, batch);
+                buffer.position(buffer.position() + batch * Integer.BYTES);
+                written += batch;
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
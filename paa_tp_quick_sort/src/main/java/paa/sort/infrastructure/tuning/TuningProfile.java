@@ -0,0 +1,57 @@
+package paa.sort.infrastructure.tuning;
+
+import paa.sort.domain.performance.ThresholdTable;
+import paa.sort.domain.testdata.DataType;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Resultado de um ajuste de performance nesta maquina: os thresholds (M) por
+ * tipo de dados e faixa de tamanho, o algoritmo para o qual foram ajustados e
+ * a estrategia de pivo mais rapida para cada tipo de dados (identificada pelo
+ * nome da PivotStrategy).
+ */
+public class TuningProfile {
+    private final ThresholdTable thresholdTable;
+    private final String tunedAlgorithm;
+    private final Instant createdAt;
+    private final Map<DataType, String> pivotStrategies = new EnumMap<>(DataType.class);
+
+    public TuningProfile(ThresholdTable thresholdTable, String tunedAlgorithm) {
+        this(thresholdTable, tunedAlgorithm, Instant.now());
+    }
+
+    public TuningProfile(ThresholdTable thresholdTable, String tunedAlgorithm, Instant createdAt) {
+        this.thresholdTable = thresholdTable;
+        this.tunedAlgorithm = tunedAlgorithm;
+        this.createdAt = createdAt;
+    }
+
+    public ThresholdTable getThresholdTable() {
+        return thresholdTable;
+    }
+
+    /**
+     * Identificacao do algoritmo cujo threshold foi ajustado (ThresholdOptimizer.getAlgorithmName)
+     */
+    public String getTunedAlgorithm() {
+        return tunedAlgorithm;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setPivotStrategy(DataType dataType, String pivotStrategyName) {
+        pivotStrategies.put(dataType, pivotStrategyName);
+    }
+
+    /**
+     * Nome da estrategia de pivo mais rapida para o tipo, ou null se ainda nao foi medida
+     */
+    public String getPivotStrategy(DataType dataType) {
+        return pivotStrategies.get(dataType);
+    }
+}
@@ -0,0 +1,239 @@
+package paa.sort.infrastructure.tuning;
+
+import paa.sort.domain.performance.SizeBucket;
+import paa.sort.domain.performance.ThresholdTable;
+import paa.sort.domain.testdata.DataType;
+import paa.sort.domain.exceptions.FileOperationException;
+import paa.sort.infrastructure.logging.ExceptionLogger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+/**
+ * Guarda o TuningProfile em um arquivo .properties para que execucoes
+ * seguintes nao repitam o ajuste do threshold. O perfil vale apenas para o
+ * mesmo algoritmo ajustado, a mesma versao da JVM, o mesmo modelo de CPU e o
+ * mesmo numero de nucleos, e expira depois de maxAge; fora disso e
+ * considerado desatualizado e o ajuste deve ser refeito.
+ */
+public class TuningProfileStore {
+    private static final String DEFAULT_FILE_NAME = "tuning_profile.properties";
+    private static final Duration DEFAULT_MAX_AGE = Duration.ofDays(30);
+    // Incrementar quando o formato ou a busca do ajuste mudarem
+    private static final int PROFILE_VERSION = 2;
+
+    private static final String VERSION_KEY = "profile.version";
+    private static final String CREATED_AT_KEY = "profile.createdAt";
+    private static final String TUNED_ALGORITHM_KEY = "profile.tunedAlgorithm";
+    private static final String JVM_KEY = "machine.jvm";
+    private static final String CPU_MODEL_KEY = "machine.cpuModel";
+    private static final String CORES_KEY = "machine.cores";
+    private static final String DEFAULT_THRESHOLD_KEY = "threshold.default";
+    private static final String THRESHOLD_PREFIX = "threshold.";
+    private static final String PIVOT_PREFIX = "pivot.";
+
+    private final Path profileFile;
+    private final Duration maxAge;
+    private final ExceptionLogger exceptionLogger;
+
+    public TuningProfileStore() {
+        this(Paths.get(DEFAULT_FILE_NAME), DEFAULT_MAX_AGE);
+    }
+
+    public TuningProfileStore(Path profileFile, Duration maxAge) {
+        this.profileFile = profileFile;
+        this.maxAge = maxAge;
+        this.exceptionLogger = ExceptionLogger.getInstance();
+    }
+
+    public Path getProfileFile() {
+        return profileFile;
+    }
+
+    /**
+     * Carrega o perfil salvo se ele for desta maquina e do algoritmo pedido,
+     * estiver dentro da validade e tiver os thresholds de todas as
+     * combinacoes pedidas
+     *
+     * @param tunedAlgorithm Identificacao do algoritmo ajustado (ThresholdOptimizer.getAlgorithmName)
+     * @return O perfil, ou null se estiver ausente, ilegivel ou desatualizado
+     */
+    public TuningProfile load(String tunedAlgorithm, DataType[] requiredDataTypes, SizeBucket[] requiredBuckets) {
+        if (!Files.isRegularFile(profileFile)) {
+            exceptionLogger.logInfo("Perfil de ajuste inexistente: " + profileFile, "Perfil de ajuste");
+            return null;
+        }
+
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(profileFile, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException | IllegalArgumentException e) {
+            exceptionLogger.logWarning("Perfil de ajuste ilegivel, sera refeito: " + e.getMessage(),
+                    "Perfil de ajuste");
+            return null;
+        }
+
+        String staleReason = findStaleReason(properties, tunedAlgorithm);
+        if (staleReason != null) {
+            exceptionLogger.logInfo("Perfil de ajuste desatualizado (" + staleReason + ")", "Perfil de ajuste");
+            return null;
+        }
+
+        try {
+            ThresholdTable thresholdTable = new ThresholdTable(
+                    Integer.parseInt(properties.getProperty(DEFAULT_THRESHOLD_KEY)));
+            for (DataType dataType : requiredDataTypes) {
+                for (SizeBucket bucket : requiredBuckets) {
+                    String value = properties.getProperty(thresholdKey(dataType, bucket));
+                    if (value == null) {
+                        exceptionLogger.logInfo("Perfil de ajuste sem threshold para "
+                                + thresholdKey(dataType, bucket), "Perfil de ajuste");
+                        return null;
+                    }
+                    thresholdTable.put(dataType, bucket, Integer.parseInt(value));
+                }
+            }
+
+            TuningProfile profile = new TuningProfile(thresholdTable, tunedAlgorithm,
+                    Instant.parse(properties.getProperty(CREATED_AT_KEY)));
+            for (DataType dataType : DataType.values()) {
+                String pivotStrategy = properties.getProperty(PIVOT_PREFIX + dataType.name());
+                if (pivotStrategy != null) {
+                    profile.setPivotStrategy(dataType, pivotStrategy);
+                }
+            }
+            return profile;
+        } catch (NumberFormatException | DateTimeParseException e) {
+            exceptionLogger.logWarning("Perfil de ajuste com valor invalido, sera refeito: " + e.getMessage(),
+                    "Perfil de ajuste");
+            return null;
+        }
+    }
+
+    /**
+     * Salva o perfil com a identificacao desta maquina. O arquivo e escrito
+     * em um temporario e movido, para nunca ficar pela metade.
+     */
+    public void save(TuningProfile profile) throws FileOperationException {
+        Properties properties = new Properties();
+        properties.setProperty(VERSION_KEY, Integer.toString(PROFILE_VERSION));
+        properties.setProperty(CREATED_AT_KEY, profile.getCreatedAt().toString());
+        properties.setProperty(TUNED_ALGORITHM_KEY, profile.getTunedAlgorithm());
+        properties.setProperty(JVM_KEY, currentJvm());
+        properties.setProperty(CPU_MODEL_KEY, currentCpuModel());
+        properties.setProperty(CORES_KEY, Integer.toString(currentCores()));
+
+        ThresholdTable thresholdTable = profile.getThresholdTable();
+        properties.setProperty(DEFAULT_THRESHOLD_KEY, Integer.toString(thresholdTable.getDefaultThreshold()));
+        for (DataType dataType : DataType.values()) {
+            for (SizeBucket bucket : SizeBucket.values()) {
+                if (thresholdTable.contains(dataType, bucket)) {
+                    properties.setProperty(thresholdKey(dataType, bucket),
+                            Integer.toString(thresholdTable.get(dataType, bucket)));
+                }
+            }
+            String pivotStrategy = profile.getPivotStrategy(dataType);
+            if (pivotStrategy != null) {
+                properties.setProperty(PIVOT_PREFIX + dataType.name(), pivotStrategy);
+            }
+        }
+
+        Path temporaryFile = profileFile.resolveSibling(profileFile.getFileName() + ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+                properties.store(writer, "Perfil de ajuste do Quicksort (gerado automaticamente)");
+            }
+            Files.move(temporaryFile, profileFile, StandardCopyOption.REPLACE_EXISTING);
+            exceptionLogger.logInfo("Perfil de ajuste salvo: " + profileFile.toAbsolutePath(), "Perfil de ajuste");
+        } catch (IOException e) {
+            FileOperationException fileException = new FileOperationException(
+                    "Falha ao salvar o perfil de ajuste: " + e.getMessage(),
+                    "SAVE_TUNING_PROFILE",
+                    profileFile,
+                    e);
+            exceptionLogger.logFileOperationError(fileException, "Perfil de ajuste");
+            throw fileException;
+        }
+    }
+
+    /**
+     * Motivo pelo qual o perfil nao serve para esta execucao, ou null se serve
+     */
+    private String findStaleReason(Properties properties, String tunedAlgorithm) {
+        if (!Integer.toString(PROFILE_VERSION).equals(properties.getProperty(VERSION_KEY))) {
+            return "versao do perfil";
+        }
+        if (!tunedAlgorithm.equals(properties.getProperty(TUNED_ALGORITHM_KEY))) {
+            return "algoritmo ajustado diferente";
+        }
+        if (!currentJvm().equals(properties.getProperty(JVM_KEY))) {
+            return "JVM diferente";
+        }
+        if (!currentCpuModel().equals(properties.getProperty(CPU_MODEL_KEY))) {
+            return "CPU diferente";
+        }
+        if (!Integer.toString(currentCores()).equals(properties.getProperty(CORES_KEY))) {
+            return "numero de nucleos diferente";
+        }
+
+        String createdAt = properties.getProperty(CREATED_AT_KEY);
+        try {
+            if (createdAt == null || Instant.parse(createdAt).plus(maxAge).isBefore(Instant.now())) {
+                return "expirado";
+            }
+        } catch (DateTimeParseException e) {
+            return "data de criacao invalida";
+        }
+        return null;
+    }
+
+    private static String thresholdKey(DataType dataType, SizeBucket bucket) {
+        return THRESHOLD_PREFIX + dataType.name() + "." + bucket.name();
+    }
+
+    private static String currentJvm() {
+        return System.getProperty("java.vm.name") + " " + System.getProperty("java.vm.version");
+    }
+
+    private static int currentCores() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Modelo da CPU: /proc/cpuinfo no Linux, PROCESSOR_IDENTIFIER no Windows
+     * e, nos demais sistemas, apenas a arquitetura
+     */
+    private static String currentCpuModel() {
+        Path cpuInfo = Paths.get("/proc/cpuinfo");
+        if (Files.isReadable(cpuInfo)) {
+            try (Stream<String> lines = Files.lines(cpuInfo)) {
+                String model = lines.filter(line -> line.startsWith("model name"))
+                        .map(line -> line.substring(line.indexOf(':') + 1).trim())
+                        .findFirst()
+                        .orElse(null);
+                if (model != null) {
+                    return model;
+                }
+            } catch (IOException | RuntimeException e) {
+                // Sem /proc/cpuinfo legivel, cai nas alternativas abaixo
+            }
+        }
+
+        String processorIdentifier = System.getenv("PROCESSOR_IDENTIFIER");
+        if (processorIdentifier != null) {
+            return processorIdentifier;
+        }
+        return System.getProperty("os.arch");
+    }
+}